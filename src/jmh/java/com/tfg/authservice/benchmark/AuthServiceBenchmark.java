@@ -0,0 +1,88 @@
+package com.tfg.authservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.tfg.authservice.auth.dto.AuthResponse;
+import com.tfg.authservice.auth.dto.LoginRequest;
+import com.tfg.authservice.auth.dto.RegisterRequest;
+import com.tfg.authservice.auth.repository.UserRepository;
+import com.tfg.authservice.auth.service.AuthService;
+
+/**
+ * Camino completo de AuthService.login / register contra repositorios en memoria.
+ *
+ * Con "strength" = 4 domina el coste propio del servicio (mapeos, token, excepciones);
+ * con 10 (valor por defecto de BCryptPasswordEncoder) se ve el peso real de BCrypt.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthServiceBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({ "4", "10" })
+    public int strength;
+
+    private UserRepository userRepository;
+    private AuthService authService;
+    private LoginRequest loginRequest;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userRepository = InMemoryRepositories.userRepository();
+        authService = new AuthService(
+                userRepository,
+                BenchmarkFixtures.roleRegistry(),
+                new BCryptPasswordEncoder(strength),
+                BenchmarkFixtures.jwtProvider(10_000L),
+                BenchmarkFixtures.refreshTokenService(),
+                null, // La revocación no interviene en login ni registro
+                BenchmarkFixtures.availabilityService(userRepository));
+        loginRequest = new LoginRequest("benchmark-user", PASSWORD);
+    }
+
+    // Cada iteración parte de un repositorio con un único usuario para que no crezca sin límite
+    @Setup(Level.Iteration)
+    public void resetUsers() {
+        userRepository.deleteAll();
+        authService.register(registerRequest("benchmark-user"));
+    }
+
+    @Benchmark
+    public AuthResponse login() {
+        return authService.login(loginRequest);
+    }
+
+    @Benchmark
+    public AuthResponse register() {
+        return authService.register(registerRequest("user-" + sequence.incrementAndGet()));
+    }
+
+    private static RegisterRequest registerRequest(String username) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword(PASSWORD);
+        return request;
+    }
+}
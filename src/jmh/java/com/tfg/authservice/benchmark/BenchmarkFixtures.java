@@ -0,0 +1,71 @@
+package com.tfg.authservice.benchmark;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tfg.authservice.auth.repository.UserRepository;
+import com.tfg.authservice.auth.security.JwtProvider;
+import com.tfg.authservice.auth.service.AvailabilityService;
+import com.tfg.authservice.auth.service.RefreshTokenService;
+import com.tfg.authservice.auth.service.RoleRegistry;
+
+/**
+ * Construcción de los componentes reales fuera del contexto de Spring.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark";
+    static final long EXPIRATION = 3_600_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * JwtProvider configurado como lo haría Spring con application.properties.
+     *
+     * @param cacheMaxSize tamaño de la caché de claims verificados.
+     */
+    static JwtProvider jwtProvider(long cacheMaxSize) {
+        return jwtProvider(cacheMaxSize, true);
+    }
+
+    /**
+     * @param cacheMaxSize tamaño de la caché de claims verificados.
+     * @param fastCodec codificador HS256 propio (true) o solo jjwt (false).
+     */
+    static JwtProvider jwtProvider(long cacheMaxSize, boolean fastCodec) {
+        JwtProvider provider = new JwtProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", EXPIRATION);
+        ReflectionTestUtils.setField(provider, "cacheMaxSize", cacheMaxSize);
+        ReflectionTestUtils.setField(provider, "fastCodecEnabled", fastCodec);
+        provider.init();
+        return provider;
+    }
+
+    /**
+     * RefreshTokenService sobre un repositorio en memoria.
+     */
+    static RefreshTokenService refreshTokenService() {
+        RefreshTokenService service = new RefreshTokenService(InMemoryRepositories.refreshTokenRepository());
+        ReflectionTestUtils.setField(service, "refreshExpiration", 1_209_600_000L);
+        return service;
+    }
+
+    /**
+     * AvailabilityService sin carga inicial (solo recibe los registros del benchmark).
+     */
+    static AvailabilityService availabilityService(UserRepository userRepository) {
+        AvailabilityService service = new AvailabilityService(userRepository, null);
+        service.init();
+        return service;
+    }
+
+    /**
+     * RoleRegistry cargado con todos los roles.
+     */
+    static RoleRegistry roleRegistry() {
+        RoleRegistry registry = new RoleRegistry(InMemoryRepositories.roleRepository());
+        registry.init();
+        return registry;
+    }
+}
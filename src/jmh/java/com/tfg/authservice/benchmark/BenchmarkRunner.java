@@ -0,0 +1,33 @@
+package com.tfg.authservice.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de los benchmarks JMH.
+ *
+ * Ejecuta los benchmarks que coinciden con la expresión recibida (por defecto todos),
+ * siempre con el profiler de GC para informar de la tasa de asignación (gc.alloc.rate.norm).
+ * Los resultados se guardan en target/jmh-result.json para comparar entre versiones.
+ *
+ * Uso: mvn -Pbenchmark test-compile exec:exec -Djmh.include=JwtProvider
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*Benchmark.*";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
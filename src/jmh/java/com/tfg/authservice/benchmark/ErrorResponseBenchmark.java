@@ -0,0 +1,68 @@
+package com.tfg.authservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tfg.authservice.exception.BusinessException;
+import com.tfg.authservice.exception.CustomException;
+import com.tfg.authservice.exception.GlobalExceptionHandler;
+
+/**
+ * Coste de un login rechazado desde el throw hasta los bytes de la respuesta.
+ *
+ * "customException": excepción con traza + ErrorResponse + Jackson (el camino de los errores no previstos).
+ * "businessException": instancia única sin traza + cuerpo pre-serializado.
+ * Con -prof gc se ve también la memoria reservada por rechazo.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorResponseBenchmark {
+
+    private static final String MESSAGE = "Invalid username or password";
+    private static final BusinessException INVALID_CREDENTIALS = new BusinessException(MESSAGE, HttpStatus.UNAUTHORIZED);
+
+    // Misma configuración de fechas que Spring Boot
+    private final JsonMapper mapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+
+    @Benchmark
+    public byte[] customException() throws JsonProcessingException {
+        try {
+            throw new CustomException(MESSAGE, HttpStatus.UNAUTHORIZED);
+        } catch (CustomException ex) {
+            return mapper.writeValueAsBytes(handler.handleCustomException(ex, request).getBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] businessException() {
+        try {
+            throw INVALID_CREDENTIALS;
+        } catch (BusinessException ex) {
+            return handler.handleBusinessException(ex, request).getBody();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.tfg.authservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tfg.authservice.auth.service.PasswordHashingExecutor;
+
+/**
+ * Comparación de carga entre el pool de hilos de plataforma y los hilos virtuales.
+ *
+ * Cada operación simula un login: una espera de JDBC antes y después de BCrypt.
+ * Con 256 clientes concurrentes, el pool de plataforma (un hilo por núcleo) queda bloqueado
+ * en las esperas de BD; con hilos virtuales esas esperas no ocupan núcleo.
+ *
+ * Para medir el modo "virtual" hay que compilar y ejecutar con Java 21:
+ *   mvn -Pjava21,benchmark test-compile exec:exec -Djmh.include=ExecutionMode
+ * En Java 17 el modo "virtual" vuelve al pool de plataforma y ambos resultados coinciden.
+ *
+ * Referencia (JDK 21.0.1, 1 núcleo, jdbcMillis=5): platform 83 ± 2 ops/s, virtual 562 ± 37 ops/s.
+ * El pool de plataforma queda limitado por las esperas (~12 ms por login en su único hilo);
+ * con hilos virtuales el límite pasa a ser la CPU de BCrypt.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(256)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({ "platform", "virtual" })
+    public String mode;
+
+    // Latencia simulada de cada consulta a la BD
+    @Param({ "5" })
+    public long jdbcMillis;
+
+    private PasswordHashingExecutor executor;
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(executor, "queueCapacity", 4096); // sin rechazos: se mide el rendimiento
+        ReflectionTestUtils.setField(executor, "retryAfterSeconds", 1L);
+        ReflectionTestUtils.setField(executor, "virtualThreads", "virtual".equals(mode));
+        executor.init();
+
+        encoder = new BCryptPasswordEncoder(4);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return executor.submit(() -> {
+            simulateJdbc(); // consulta de credenciales
+            boolean matches = encoder.matches(PASSWORD, hash);
+            simulateJdbc(); // emisión del refresh token
+            return matches;
+        }).join();
+    }
+
+    private void simulateJdbc() {
+        try {
+            Thread.sleep(jdbcMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
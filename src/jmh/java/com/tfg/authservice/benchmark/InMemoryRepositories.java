@@ -0,0 +1,122 @@
+package com.tfg.authservice.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.tfg.authservice.auth.model.VO.RefreshToken;
+import com.tfg.authservice.auth.model.VO.Role;
+import com.tfg.authservice.auth.model.VO.Role.RoleName;
+import com.tfg.authservice.auth.model.VO.User;
+import com.tfg.authservice.auth.model.VO.UserCredentials;
+import com.tfg.authservice.auth.repository.RefreshTokenRepository;
+import com.tfg.authservice.auth.repository.RoleRepository;
+import com.tfg.authservice.auth.repository.UserRepository;
+
+/**
+ * Repositorios en memoria para los benchmarks.
+ *
+ * Implementan solo los métodos que usa AuthService mediante proxies dinámicos,
+ * de modo que los benchmarks miden el servicio y no la base de datos.
+ * Cualquier otro método lanza UnsupportedOperationException.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static UserRepository userRepository() {
+        Map<String, User> byUsername = new ConcurrentHashMap<>();
+        Map<String, User> byEmail = new ConcurrentHashMap<>();
+        Map<Long, User> byId = new ConcurrentHashMap<>();
+        AtomicLong ids = new AtomicLong();
+
+        return proxy(UserRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findByUsername" -> Optional.ofNullable(byUsername.get((String) args[0]));
+            case "findCredentialsByUsername" -> Optional.ofNullable(byUsername.get((String) args[0]))
+                    .map(user -> new UserCredentials(user.getId(), user.getUsername(), user.getEmail(),
+                            user.getPassword(), user.getRoles().stream().map(role -> role.getRoleName().name()).toList()));
+            case "getReferenceById" -> byId.get((Long) args[0]);
+            case "count" -> (long) byId.size();
+            case "save", "saveAndFlush" -> {
+                User user = (User) args[0];
+                // Igual que las restricciones únicas de la tabla users
+                if (user.getId() == null && byUsername.containsKey(user.getUsername())) {
+                    throw new DataIntegrityViolationException(User.USERNAME_CONSTRAINT);
+                }
+                if (user.getId() == null && byEmail.containsKey(user.getEmail())) {
+                    throw new DataIntegrityViolationException(User.EMAIL_CONSTRAINT);
+                }
+                if (user.getId() == null) {
+                    user.setId(ids.incrementAndGet());
+                }
+                byUsername.put(user.getUsername(), user);
+                byEmail.put(user.getEmail(), user);
+                byId.put(user.getId(), user);
+                yield user;
+            }
+            case "deleteAll" -> {
+                byUsername.clear();
+                byEmail.clear();
+                byId.clear();
+                yield null;
+            }
+            default -> unsupported(method);
+        });
+    }
+
+    static RefreshTokenRepository refreshTokenRepository() {
+        Map<String, RefreshToken> byHash = new ConcurrentHashMap<>();
+        AtomicLong ids = new AtomicLong();
+
+        return proxy(RefreshTokenRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findByTokenHash" -> Optional.ofNullable(byHash.get((String) args[0]));
+            case "save" -> {
+                RefreshToken token = (RefreshToken) args[0];
+                token.setId(ids.incrementAndGet());
+                byHash.put(token.getTokenHash(), token);
+                yield token;
+            }
+            default -> unsupported(method);
+        });
+    }
+
+    static RoleRepository roleRepository() {
+        Map<RoleName, Role> roles = new ConcurrentHashMap<>();
+        long id = 1;
+        for (RoleName name : RoleName.values()) {
+            roles.put(name, new Role(id++, name));
+        }
+
+        return proxy(RoleRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findByRoleName" -> Optional.ofNullable(roles.get((RoleName) args[0]));
+            case "findAll" -> roles.values().stream().toList();
+            default -> unsupported(method);
+        });
+    }
+
+    private static Object unsupported(Method method) {
+        throw new UnsupportedOperationException("Not available in benchmarks: " + method.getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        InvocationHandler withObjectMethods = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "(in-memory)";
+                };
+            }
+            return handler.invoke(proxy, method, args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, withObjectMethods);
+    }
+}
@@ -0,0 +1,67 @@
+package com.tfg.authservice.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tfg.authservice.auth.security.JwtProvider;
+
+/**
+ * Emisión y verificación de tokens en JwtProvider.
+ *
+ * "cacheMaxSize" = 0 desactiva en la práctica la caché de claims verificados,
+ * de modo que se mide también el coste completo de parseo + HMAC.
+ * "fastCodec" compara el codificador HS256 propio con jjwt; con -prof gc se ve la diferencia
+ * de memoria reservada por operación.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtProviderBenchmark {
+
+    private static final List<String> ROLES = List.of("ROLE_DEVELOPER");
+
+    @Param({ "0", "10000" })
+    public long cacheMaxSize;
+
+    @Param({ "true", "false" })
+    public boolean fastCodec;
+
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = BenchmarkFixtures.jwtProvider(cacheMaxSize, fastCodec);
+        token = jwtProvider.generateToken("benchmark-user", 1L, ROLES);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtProvider.generateToken("benchmark-user", 1L, ROLES);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUserNameFromToken() {
+        return jwtProvider.getUserNameFromToken(token);
+    }
+}
@@ -0,0 +1,160 @@
+package com.tfg.authservice.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Generador de carga de modelo abierto: las peticiones llegan a ritmo constante
+ * independientemente de lo que tarde el servicio en responder.
+ *
+ * La latencia se mide desde el instante en que la petición debía salir según el
+ * calendario, no desde que salió: si el servicio se atasca, el retraso acumulado
+ * aparece en los percentiles en lugar de ocultarse (omisión coordinada).
+ */
+final class LoadGenerator implements AutoCloseable {
+
+    enum Endpoint { LOGIN, REGISTER }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final LoadSettings settings;
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(4, Runtime.getRuntime().availableProcessors()));
+    private final HttpClient client;
+
+    private final Map<Endpoint, Recorder> latencies = new ConcurrentHashMap<>();
+    private final Map<Endpoint, Map<Integer, LongAdder>> statuses = new ConcurrentHashMap<>();
+    private final LongAdder ioErrors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Nombres únicos para los registros, también entre calentamiento y medición
+    private final AtomicLong registrations = new AtomicLong();
+
+    LoadGenerator(String baseUrl, LoadSettings settings) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .executor(executor)
+                .build();
+        for (Endpoint endpoint : Endpoint.values()) {
+            // Microsegundos, hasta una hora, 3 dígitos significativos
+            latencies.put(endpoint, new Recorder(3_600_000_000L, 3));
+            statuses.put(endpoint, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Lanza peticiones a settings.rate() por segundo durante el tiempo indicado
+     * y espera a que terminen las pendientes.
+     */
+    void run(Duration duration) {
+        long interval = 1_000_000_000L / settings.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= settings.maxInFlight()) {
+                dropped.increment();
+                continue;
+            }
+            send(intended);
+        }
+
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(10_000_000L);
+        }
+    }
+
+    /**
+     * Descarta lo medido hasta ahora (fin del calentamiento).
+     */
+    void reset() {
+        latencies.values().forEach(Recorder::reset);
+        statuses.values().forEach(Map::clear);
+        ioErrors.reset();
+        dropped.reset();
+    }
+
+    LoadReport report(LoadSettings settings, Duration elapsed, long cpuNanos) {
+        Map<Endpoint, Histogram> histograms = new TreeMap<>();
+        Map<Endpoint, Map<Integer, Long>> counts = new TreeMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            histograms.put(endpoint, latencies.get(endpoint).getIntervalHistogram());
+            Map<Integer, Long> byStatus = new TreeMap<>();
+            statuses.get(endpoint).forEach((status, count) -> byStatus.put(status, count.sum()));
+            counts.put(endpoint, byStatus);
+        }
+        return new LoadReport(settings, elapsed, cpuNanos, histograms, counts, ioErrors.sum(), dropped.sum());
+    }
+
+    private void send(long intended) {
+        Endpoint endpoint = ThreadLocalRandom.current().nextDouble() < settings.registerRatio()
+                ? Endpoint.REGISTER
+                : Endpoint.LOGIN;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path(endpoint)))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body(endpoint)))
+                .build();
+
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long micros = (System.nanoTime() - intended) / 1_000;
+                    latencies.get(endpoint).recordValue(Math.max(0, micros));
+                    if (error != null) {
+                        ioErrors.increment();
+                    } else {
+                        statuses.get(endpoint).computeIfAbsent(response.statusCode(), s -> new LongAdder()).increment();
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private static String path(Endpoint endpoint) {
+        return endpoint == Endpoint.LOGIN ? "/auth/login" : "/auth/register";
+    }
+
+    private String body(Endpoint endpoint) {
+        if (endpoint == Endpoint.LOGIN) {
+            String username = SeedInput.username(ThreadLocalRandom.current().nextInt(settings.users()));
+            return "{\"username\":\"" + username + "\",\"password\":\"" + LoadTestRunner.PASSWORD + "\"}";
+        }
+        String username = "load-" + registrations.incrementAndGet();
+        return "{\"username\":\"" + username + "\",\"email\":\"" + username + "@load.test\",\"password\":\""
+                + LoadTestRunner.PASSWORD + "\"}";
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
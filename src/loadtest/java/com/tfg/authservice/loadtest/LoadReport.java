@@ -0,0 +1,106 @@
+package com.tfg.authservice.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tfg.authservice.loadtest.LoadGenerator.Endpoint;
+
+/**
+ * Resultado de una ejecución: rendimiento, percentiles de latencia y errores por endpoint.
+ *
+ * Se escribe en texto para leerlo y en JSON para comparar versiones entre sí.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    private final LoadSettings settings;
+    private final Duration elapsed;
+    private final long cpuNanos;
+    private final Map<Endpoint, Histogram> latencies;
+    private final Map<Endpoint, Map<Integer, Long>> statuses;
+    private final long ioErrors;
+    private final long dropped;
+
+    LoadReport(LoadSettings settings, Duration elapsed, long cpuNanos, Map<Endpoint, Histogram> latencies,
+            Map<Endpoint, Map<Integer, Long>> statuses, long ioErrors, long dropped) {
+        this.settings = settings;
+        this.elapsed = elapsed;
+        this.cpuNanos = cpuNanos;
+        this.latencies = latencies;
+        this.statuses = statuses;
+        this.ioErrors = ioErrors;
+        this.dropped = dropped;
+    }
+
+    void write(Path directory) throws IOException {
+        Files.writeString(directory.resolve("report.txt"), toText());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("report.json").toFile(), toMap());
+    }
+
+    String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("users=%d rate=%d/s elapsed=%ds register-ratio=%.2f%n",
+                settings.users(), settings.rate(), elapsed.toSeconds(), settings.registerRatio()));
+        text.append(String.format("cpu=%.1f%% of %d cores, io-errors=%d, dropped=%d%n",
+                cpuUsage() * 100, Runtime.getRuntime().availableProcessors(), ioErrors, dropped));
+        text.append(String.format("%-9s %8s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "status"));
+        latencies.forEach((endpoint, histogram) -> {
+            text.append(String.format("%-9s %8d %9.1f", endpoint, histogram.getTotalCount(), throughput(histogram)));
+            for (double percentile : PERCENTILES) {
+                text.append(String.format(" %9.2f", histogram.getValueAtPercentile(percentile) / 1_000.0));
+            }
+            text.append(String.format(" %9.2f  %s%n", histogram.getMaxValue() / 1_000.0, statuses.get(endpoint)));
+        });
+        return text.toString();
+    }
+
+    private Map<String, Object> toMap() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("users", settings.users());
+        report.put("rate", settings.rate());
+        report.put("elapsedSeconds", elapsed.toMillis() / 1_000.0);
+        report.put("registerRatio", settings.registerRatio());
+        report.put("cpuUsage", cpuUsage());
+        report.put("ioErrors", ioErrors);
+        report.put("dropped", dropped);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        latencies.forEach((endpoint, histogram) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", histogram.getTotalCount());
+            values.put("throughput", throughput(histogram));
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                percentiles.put("p" + percentile, histogram.getValueAtPercentile(percentile) / 1_000.0);
+            }
+            percentiles.put("max", histogram.getMaxValue() / 1_000.0);
+            values.put("latencyMs", percentiles);
+            values.put("statuses", statuses.get(endpoint));
+            endpoints.put(endpoint.name().toLowerCase(), values);
+        });
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private double throughput(Histogram histogram) {
+        return histogram.getTotalCount() / (elapsed.toMillis() / 1_000.0);
+    }
+
+    // Fracción de la CPU total de la máquina consumida por el proceso durante la medición
+    private double cpuUsage() {
+        return (double) cpuNanos / (elapsed.toNanos() * (double) Runtime.getRuntime().availableProcessors());
+    }
+}
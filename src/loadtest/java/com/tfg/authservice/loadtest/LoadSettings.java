@@ -0,0 +1,26 @@
+package com.tfg.authservice.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Parámetros de la prueba de carga (propiedades del sistema load.*).
+ *
+ * @param users usuarios sembrados antes de empezar.
+ * @param rate peticiones por segundo (ritmo de llegada constante).
+ * @param warmup calentamiento, no se mide.
+ * @param duration duración de la medición.
+ * @param registerRatio fracción de peticiones que son registros (el resto, logins).
+ * @param maxInFlight peticiones pendientes máximas; por encima se cuentan como descartadas.
+ */
+record LoadSettings(int users, int rate, Duration warmup, Duration duration, double registerRatio, int maxInFlight) {
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger("load.users", 10_000),
+                Integer.getInteger("load.rate", 100),
+                Duration.ofSeconds(Long.getLong("load.warmup", 10)),
+                Duration.ofSeconds(Long.getLong("load.duration", 60)),
+                Double.parseDouble(System.getProperty("load.register-ratio", "0.1")),
+                Integer.getInteger("load.max-in-flight", 10_000));
+    }
+}
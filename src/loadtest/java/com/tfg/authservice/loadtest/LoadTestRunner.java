@@ -0,0 +1,127 @@
+package com.tfg.authservice.loadtest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.tfg.authservice.AuthServiceApplication;
+import com.tfg.authservice.auth.service.UserImportService;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Prueba de carga de extremo a extremo, reproducible y sin red.
+ *
+ *   1. Arranca un PostgreSQL embebido (binarios de Maven, sin Docker ni BD de staging).
+ *   2. Arranca el servicio real contra él, en un puerto libre.
+ *   3. Siembra load.users usuarios con la importación masiva (un solo hash BCrypt reutilizado).
+ *   4. Genera carga de modelo abierto (ritmo de llegada constante load.rate) contra /auth/login
+ *      y /auth/register durante load.warmup + load.duration segundos.
+ *   5. Escribe en load.output el informe (report.txt / report.json) y un perfil de CPU (profile.jfr).
+ *   6. Para el servicio e indica cuántas filas de auditoría (login_audit) se escribieron.
+ *
+ * El generador y el servicio comparten JVM: el perfil JFR incluye ambos, pero el generador
+ * solo hace E/S asíncrona y su peso es pequeño frente a BCrypt.
+ *
+ * Uso: mvn -Ploadtest test-compile exec:exec -Dload.users=100000 -Dload.rate=300 -Dload.duration=120
+ */
+public class LoadTestRunner {
+
+    static final String PASSWORD = "load-test-password";
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        Path output = Path.of(System.getProperty("load.output", "target/loadtest"));
+        Files.createDirectories(output);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                ConfigurableApplicationContext context = startService(postgres)) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            seedUsers(context, settings.users());
+
+            LoadGenerator generator = new LoadGenerator("http://localhost:" + port, settings);
+            System.out.printf("Warm-up: %d s at %d req/s%n", settings.warmup().toSeconds(), settings.rate());
+            generator.run(settings.warmup());
+            generator.reset();
+
+            System.out.printf("Measuring: %d s at %d req/s%n", settings.duration().toSeconds(), settings.rate());
+            long cpuBefore = processCpuNanos();
+            LoadReport report;
+            try (Recording recording = new Recording(Configuration.getConfiguration("profile"))) {
+                recording.start();
+                long start = System.nanoTime();
+                generator.run(settings.duration());
+                long elapsed = System.nanoTime() - start;
+                recording.stop();
+                recording.dump(output.resolve("profile.jfr"));
+                report = generator.report(settings, Duration.ofNanos(elapsed), processCpuNanos() - cpuBefore);
+            }
+            generator.close();
+
+            report.write(output);
+            System.out.println(report.toText());
+            System.out.println("Report and CPU profile written to " + output.toAbsolutePath());
+
+            // La auditoría se escribe en segundo plano; al parar el servicio se vacía la cola pendiente
+            context.close();
+            System.out.println("Audit rows (warm-up included): " + auditRows(postgres));
+        }
+    }
+
+    private static ConfigurableApplicationContext startService(EmbeddedPostgres postgres) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+        properties.put("spring.datasource.username", "postgres");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("server.port", "0");
+        properties.put("jwt.secret", "load-test-secret-load-test-secret-load-test-secret");
+        properties.put("jwt.expiration", "3600000");
+        // Toda la carga sale de 127.0.0.1: el limitador por IP la rechazaría casi entera
+        properties.put("auth.throttle.enabled", System.getProperty("load.throttle", "false"));
+        properties.put("logging.level.root", "WARN");
+
+        // Puerto de gestión aleatorio como argumento: las propiedades por defecto no pisan application.properties
+        return new SpringApplicationBuilder(AuthServiceApplication.class)
+                .properties(properties)
+                .run("--management.server.port=0");
+    }
+
+    // Siembra por la importación masiva con el hash ya calculado: sin BCrypt por usuario
+    private static void seedUsers(ConfigurableApplicationContext context, int users) throws IOException {
+        long start = System.nanoTime();
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        long created = context.getBean(UserImportService.class)
+                .importUsers(new SeedInput(users, hash), false, results -> { });
+        System.out.printf("Seeded %d users in %d ms%n", created, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private static long auditRows(EmbeddedPostgres postgres) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT count(*) FROM login_audit")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+}
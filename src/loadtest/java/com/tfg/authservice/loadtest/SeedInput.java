@@ -0,0 +1,56 @@
+package com.tfg.authservice.loadtest;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cuerpo NDJSON de siembra generado al vuelo: "user-0" ... "user-(n-1)", todos con el mismo hash.
+ * No se materializa en memoria, así que sirve para millones de usuarios.
+ */
+final class SeedInput extends InputStream {
+
+    private final int users;
+    private final String hash;
+    private int next;
+    private byte[] line = new byte[0];
+    private int position;
+
+    SeedInput(int users, String hash) {
+        this.users = users;
+        this.hash = hash;
+    }
+
+    static String username(int index) {
+        return "user-" + index;
+    }
+
+    @Override
+    public int read() {
+        if (position == line.length) {
+            if (next == users) {
+                return -1;
+            }
+            String username = username(next++);
+            line = ("{\"username\":\"" + username + "\",\"email\":\"" + username + "@load.test\",\"password\":\""
+                    + hash + "\"}\n").getBytes(StandardCharsets.UTF_8);
+            position = 0;
+        }
+        return line[position++] & 0xFF; // Contrato de read(): 0..255, -1 solo al final
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < length) {
+            int b = read();
+            if (b == -1) {
+                return count == 0 ? -1 : count;
+            }
+            buffer[offset + count++] = (byte) b;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,201 @@
+package com.tfg.authservice.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Tiempo hasta el primer login: desde que se lanza la JVM hasta que POST /auth/login devuelve 200.
+ *
+ * Compara, sobre el mismo jar (compilado con mvn clean package -Pfaststart):
+ *   - baseline:  java -jar, como la imagen anterior.
+ *   - cds:       jar extraído + archivo CDS.
+ *   - faststart: jar extraído + archivo CDS + inicializadores AOT + perfil faststart (como el Dockerfile).
+ *
+ * Los archivos CDS se generan antes con una ejecución de entrenamiento por variante
+ * (-XX:ArchiveClassesAtExit con spring.context.exit=onRefresh), igual que en la imagen.
+ *
+ * Uso: mvn clean package -Pfaststart -DskipTests && mvn -Ploadtest test-compile exec:exec@startup -Dstartup.runs=5
+ */
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String USERNAME = "startup-user";
+
+    private final Path jar;
+    private final Path output;
+    private final EmbeddedPostgres postgres;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupBenchmark(Path jar, Path output, EmbeddedPostgres postgres) {
+        this.jar = jar;
+        this.output = output;
+        this.postgres = postgres;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(System.getProperty("startup.jar"));
+        Path output = Path.of(System.getProperty("startup.output", "target/startup"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        Files.createDirectories(output);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            StartupBenchmark benchmark = new StartupBenchmark(jar, output, postgres);
+            Path extracted = benchmark.extract();
+            benchmark.prepareDatabase();
+
+            Map<String, List<String>> variants = new LinkedHashMap<>();
+            variants.put("baseline", List.of("-jar", jar.toString()));
+            variants.put("cds", List.of("-XX:SharedArchiveFile=" + output.resolve("cds.jsa"),
+                    "-jar", extracted.toString()));
+            variants.put("faststart", List.of("-XX:SharedArchiveFile=" + output.resolve("faststart.jsa"),
+                    "-Dspring.aot.enabled=true", "-Dspring.profiles.active=faststart",
+                    "-jar", extracted.toString()));
+
+            benchmark.train("cds", variants.get("cds"));
+            benchmark.train("faststart", variants.get("faststart"));
+
+            StringBuilder report = new StringBuilder(String.format("%-10s %6s %10s %10s %10s%n",
+                    "variant", "runs", "min ms", "median ms", "max ms"));
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                List<Long> times = new ArrayList<>();
+                for (int run = 0; run < runs; run++) {
+                    times.add(benchmark.timeToFirstLogin(variant.getKey() + "-" + run, variant.getValue()));
+                    System.out.printf("%s #%d: %d ms%n", variant.getKey(), run, times.get(times.size() - 1));
+                }
+                times.sort(null);
+                report.append(String.format("%-10s %6d %10d %10d %10d%n", variant.getKey(), runs,
+                        times.get(0), times.get(times.size() / 2), times.get(times.size() - 1)));
+            }
+
+            Files.writeString(output.resolve("report.txt"), report);
+            System.out.println(report);
+            System.out.println("Report and logs written to " + output.toAbsolutePath());
+        }
+    }
+
+    // Jar plano + lib/: CDS no puede archivar clases de jars anidados
+    private Path extract() throws IOException, InterruptedException {
+        Path destination = output.resolve("extracted");
+        Process process = new ProcessBuilder(javaCommand(), "-Djarmode=tools", "-jar", jar.toString(),
+                "extract", "--force", "--destination", destination.toString(),
+                "--application-filename", "application.jar")
+                .inheritIO()
+                .start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Unable to extract " + jar);
+        }
+        return destination.resolve("application.jar");
+    }
+
+    // Primer arranque: crea el esquema, siembra los roles (DataLoader) y registra el usuario de prueba
+    private void prepareDatabase() throws Exception {
+        int port = freePort();
+        Process process = start("prepare", port, List.of("-jar", jar.toString()));
+        try {
+            awaitStatus(port, "/auth/register", "{\"username\":\"" + USERNAME + "\",\"email\":\"" + USERNAME
+                    + "@startup.test\",\"password\":\"" + LoadTestRunner.PASSWORD + "\"}", process);
+        } finally {
+            stop(process);
+        }
+    }
+
+    // Ejecución de entrenamiento: refresca el contexto, sale y vuelca las clases cargadas al archivo
+    private void train(String name, List<String> options) throws Exception {
+        List<String> training = new ArrayList<>();
+        training.add("-XX:ArchiveClassesAtExit=" + output.resolve(name + ".jsa"));
+        training.add("-Dspring.context.exit=onRefresh");
+        // Misma línea de comandos que la variante, salvo el archivo que todavía no existe
+        options.stream().filter(option -> !option.startsWith("-XX:SharedArchiveFile=")).forEach(training::add);
+        Process process = start(name + "-training", freePort(), training);
+        if (!process.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS) || process.exitValue() != 0) {
+            stop(process);
+            throw new IllegalStateException("Training run failed for " + name + ", see " + name + "-training.log");
+        }
+    }
+
+    private long timeToFirstLogin(String name, List<String> options) throws Exception {
+        int port = freePort();
+        long start = System.nanoTime();
+        Process process = start(name, port, options);
+        try {
+            awaitStatus(port, "/auth/login", "{\"username\":\"" + USERNAME + "\",\"password\":\""
+                    + LoadTestRunner.PASSWORD + "\"}", process);
+            return Duration.ofNanos(System.nanoTime() - start).toMillis();
+        } finally {
+            stop(process);
+        }
+    }
+
+    private Process start(String name, int port, List<String> options) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(javaCommand());
+        command.add("-Dserver.port=" + port);
+        command.add("-Dmanagement.server.port=0");
+        command.add("-Dspring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+        command.add("-Dspring.datasource.username=postgres");
+        command.add("-Dspring.jpa.hibernate.ddl-auto=update");
+        command.add("-Djwt.secret=startup-secret-startup-secret-startup-secret");
+        command.add("-Djwt.expiration=3600000");
+        command.add("-Dauth.throttle.enabled=false");
+        command.addAll(options);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(output.resolve(name + ".log").toFile())
+                .start();
+    }
+
+    // Reintenta la petición hasta obtener 200; los errores de conexión significan que aún no escucha
+    private void awaitStatus(int port, String path, String body, Process process) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // Sigue arrancando
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No successful response from " + path + " within " + STARTUP_TIMEOUT);
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String javaCommand() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
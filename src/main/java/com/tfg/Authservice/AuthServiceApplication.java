@@ -2,9 +2,11 @@ package com.tfg.authservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
+@EnableScheduling // Tareas periódicas (rotación de claves JWT)
 public class AuthServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,31 @@
+package com.tfg.authservice.auth.audit;
+
+import java.time.Instant;
+
+/**
+ * Evento de auditoría de un intento de login o registro (una fila de login_audit).
+ *
+ * @param type Login o registro.
+ * @param username Nombre de usuario presentado (exista o no).
+ * @param ipAddress Dirección del cliente.
+ * @param outcome Resultado del intento.
+ * @param status Código HTTP con el que se respondió.
+ * @param latencyMicros Tiempo desde la llegada de la petición hasta su resultado.
+ * @param occurredAt Momento en que se resolvió el intento.
+ */
+public record AuditEvent(Type type, String username, String ipAddress, Outcome outcome, int status,
+        long latencyMicros, Instant occurredAt) {
+
+    public enum Type {
+        LOGIN, REGISTER
+    }
+
+    public enum Outcome {
+        // Credenciales comprobadas y correctas
+        SUCCESS,
+        // Credenciales incorrectas, usuario duplicado o error inesperado
+        FAILURE,
+        // Rechazado antes de comprobar nada (límite de intentos o servicio saturado)
+        REJECTED
+    }
+}
@@ -0,0 +1,98 @@
+package com.tfg.authservice.auth.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola circular acotada sin bloqueos: varios productores y un único consumidor.
+ *
+ * Cada celda lleva un número de secuencia que indica de quién es el turno:
+ *   - secuencia == posición:     libre para el productor que reserve esa posición.
+ *   - secuencia == posición + 1: publicada, lista para el consumidor.
+ * Los productores reservan posición con un CAS sobre "tail" y luego publican la celda;
+ * el consumidor avanza "head" sin competir con nadie. Ningún hilo espera a otro y,
+ * si la cola está llena, offer devuelve -1 al instante.
+ */
+final class AuditRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Solo lo escribe el consumidor; volatile para que size() sea coherente desde otros hilos
+    private volatile long head;
+
+    /**
+     * @param capacity Capacidad mínima; se redondea a la siguiente potencia de 2.
+     */
+    AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publica un elemento (cualquier hilo).
+     *
+     * @return Posición que ocupa el elemento, o -1 si la cola está llena.
+     */
+    long offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return position;
+                }
+            } else if (available < 0) {
+                // La celda aún guarda un elemento de la vuelta anterior: llena
+                return -1;
+            }
+            // Otro productor reservó esta posición: reintentar con la siguiente
+        }
+    }
+
+    /**
+     * Extrae hasta max elementos en orden de publicación (solo el hilo consumidor).
+     *
+     * @return Número de elementos añadidos a target.
+     */
+    int drainTo(List<E> target, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break; // Vacía, o reservada pero aún no publicada
+            }
+            target.add(elements.get(index));
+            elements.set(index, null);
+            // Libera la celda para la siguiente vuelta
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * Elementos reservados y aún no extraídos (aproximado mientras hay productores activos).
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,259 @@
+package com.tfg.authservice.auth.audit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.tfg.authservice.auth.model.VO.LoginAuditEntry;
+import com.tfg.authservice.auth.repository.LoginAuditRepository;
+import com.tfg.authservice.exception.CustomException;
+import com.tfg.authservice.util.AuthMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registro de auditoría de logins y registros (quién, cuándo, IP, resultado y latencia).
+ *
+ * La petición solo publica el evento en una cola circular en memoria, sin bloqueos ni acceso a BD;
+ * un único hilo la vacía y escribe lotes de hasta auth.audit.batch-size filas en login_audit,
+ * un INSERT por lote. El hilo se despierta cada auth.audit.flush-interval o en cuanto hay un lote completo.
+ *
+ * Si la cola se llena (BD lenta o caída), auth.audit.overflow decide:
+ *   - DROP:  el evento se descarta al instante; el login nunca espera por la auditoría.
+ *   - BLOCK: la petición espera hasta auth.audit.block-timeout a que haya hueco y, si no lo hay,
+ *            se descarta igualmente, para que una BD caída no deje colgados los logins.
+ * Los descartes se cuentan en auth.audit.events{result=dropped}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginAudit {
+
+    /**
+     * Qué hacer cuando la cola está llena.
+     */
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    private static final Counter WRITTEN = AuthMetrics.counter("auth.audit.events", "Audit events by result", "result", "written");
+    private static final Counter DROPPED = AuthMetrics.counter("auth.audit.events", "Audit events by result", "result", "dropped");
+    private static final Counter FAILED = AuthMetrics.counter("auth.audit.events", "Audit events by result", "result", "failed");
+    // Retraso entre el intento y su escritura en BD
+    private static final Timer LAG = AuthMetrics.timer("auth.audit.lag", "Delay between an audited attempt and its insert");
+    private static final Timer FLUSH = AuthMetrics.timer("auth.audit.flush", "Audit batch insert time");
+
+    // Espera entre reintentos en modo BLOCK
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    // Tiempo máximo para vaciar la cola al parar el servicio
+    private static final long SHUTDOWN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final LoginAuditRepository loginAuditRepository;
+
+    @Value("${auth.audit.enabled:true}")
+    private boolean enabled = true;
+
+    // Eventos pendientes como máximo (se redondea a potencia de 2)
+    @Value("${auth.audit.buffer-size:16384}")
+    private int bufferSize = 16_384;
+
+    // Filas por INSERT
+    @Value("${auth.audit.batch-size:500}")
+    private int batchSize = 500;
+
+    // Milisegundos máximos que un evento espera en memoria con poco tráfico
+    @Value("${auth.audit.flush-interval:200}")
+    private long flushIntervalMs = 200;
+
+    @Value("${auth.audit.overflow:DROP}")
+    private OverflowPolicy overflow = OverflowPolicy.DROP;
+
+    // Milisegundos de espera máxima en modo BLOCK
+    @Value("${auth.audit.block-timeout:50}")
+    private long blockTimeoutMs = 50;
+
+    private AuditRingBuffer<AuditEvent> buffer;
+    private Thread drainer;
+    private volatile boolean running;
+    // System.nanoTime() límite para terminar de vaciar la cola al parar
+    private volatile long stopDeadline;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        buffer = new AuditRingBuffer<>(bufferSize);
+        // Eventos a la espera de escribirse: si crece de forma sostenida, la BD no da abasto
+        Gauge.builder("auth.audit.pending", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(Metrics.globalRegistry);
+        running = true;
+        drainer = new Thread(this::drain, "login-audit-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Audita un intento de login.
+     *
+     * @param username Nombre de usuario presentado.
+     * @param ipAddress Dirección del cliente.
+     * @param startNanos System.nanoTime() a la llegada de la petición.
+     * @param error Excepción con la que terminó, o null si tuvo éxito.
+     */
+    public void login(String username, String ipAddress, long startNanos, Throwable error) {
+        record(AuditEvent.Type.LOGIN, username, ipAddress, startNanos, error);
+    }
+
+    /**
+     * Audita un intento de registro.
+     *
+     * @param username Nombre de usuario solicitado.
+     * @param ipAddress Dirección del cliente.
+     * @param startNanos System.nanoTime() a la llegada de la petición.
+     * @param error Excepción con la que terminó, o null si tuvo éxito.
+     */
+    public void register(String username, String ipAddress, long startNanos, Throwable error) {
+        record(AuditEvent.Type.REGISTER, username, ipAddress, startNanos, error);
+    }
+
+    /**
+     * Publica un evento; no espera nunca a la BD.
+     *
+     * @return false si se ha descartado (cola llena o auditoría desactivada).
+     */
+    public boolean publish(AuditEvent event) {
+        if (buffer == null) {
+            return false;
+        }
+        long position = buffer.offer(event);
+        if (position < 0 && overflow == OverflowPolicy.BLOCK) {
+            position = offerWithin(event, TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs));
+        }
+        if (position < 0) {
+            DROPPED.increment();
+            return false;
+        }
+        // Lote completo: no esperar al siguiente intervalo
+        if (position % batchSize == batchSize - 1) {
+            LockSupport.unpark(drainer);
+        }
+        return true;
+    }
+
+    private void record(AuditEvent.Type type, String username, String ipAddress, long startNanos, Throwable error) {
+        if (buffer == null) {
+            return;
+        }
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        int status = status(error);
+        AuditEvent.Outcome outcome = error == null ? AuditEvent.Outcome.SUCCESS
+                : status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                        ? AuditEvent.Outcome.REJECTED
+                        : AuditEvent.Outcome.FAILURE;
+        // Un username desmesurado haría fallar el INSERT de todo el lote
+        if (username != null && username.length() > LoginAuditEntry.USERNAME_LENGTH) {
+            username = username.substring(0, LoginAuditEntry.USERNAME_LENGTH);
+        }
+        publish(new AuditEvent(type, username, ipAddress, outcome, status, latencyMicros, Instant.now()));
+    }
+
+    // Las excepciones de los futuros llegan envueltas en CompletionException
+    private static int status(Throwable error) {
+        if (error == null) {
+            return HttpStatus.OK.value();
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof CustomException custom ? custom.getStatus().value() : HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private long offerWithin(AuditEvent event, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        long position;
+        do {
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            position = buffer.offer(event);
+        } while (position < 0 && System.nanoTime() < deadline);
+        return position;
+    }
+
+    // Bucle del hilo de escritura: vacía la cola por lotes y duerme cuando no hay un lote completo
+    private void drain() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (true) {
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                flush(batch);
+                batch.clear();
+            }
+            if (drained < batchSize) {
+                if (!running) {
+                    // Parada: terminar de vaciar lo publicado antes de salir, con un límite de tiempo
+                    int pending = buffer.size();
+                    if (pending == 0) {
+                        return;
+                    }
+                    if (System.nanoTime() - stopDeadline >= 0) {
+                        log.warn("Stopping login audit with {} events not written", pending);
+                        return;
+                    }
+                    // Quedan huecos reservados aún sin publicar: esperar sin ocupar el núcleo
+                    if (drained == 0) {
+                        LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                    }
+                    continue;
+                }
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        try {
+            FLUSH.record(() -> loginAuditRepository.insertBatch(batch));
+        } catch (RuntimeException ex) {
+            // Sin reintentos: la auditoría no debe acumular memoria mientras la BD no responde
+            FAILED.increment(batch.size());
+            log.warn("Could not write {} audit events: {}", batch.size(), ex.getMessage());
+            return;
+        }
+        WRITTEN.increment(batch.size());
+        Instant now = Instant.now();
+        for (AuditEvent event : batch) {
+            LAG.record(Duration.between(event.occurredAt(), now));
+        }
+    }
+
+    /**
+     * Escribe los eventos pendientes y detiene el hilo de escritura.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (drainer == null) {
+            return;
+        }
+        stopDeadline = System.nanoTime() + SHUTDOWN_TIMEOUT_NANOS;
+        running = false;
+        LockSupport.unpark(drainer);
+        drainer.join(TimeUnit.NANOSECONDS.toMillis(SHUTDOWN_TIMEOUT_NANOS));
+    }
+}
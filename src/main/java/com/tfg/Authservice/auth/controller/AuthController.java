@@ -1,19 +1,31 @@
 package com.tfg.authservice.auth.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.tfg.authservice.auth.audit.LoginAudit;
 import com.tfg.authservice.auth.dto.AuthResponse;
 import com.tfg.authservice.auth.dto.LoginRequest;
+import com.tfg.authservice.auth.dto.RefreshRequest;
 import com.tfg.authservice.auth.dto.RegisterRequest;
+import com.tfg.authservice.auth.security.permission.Permission;
+import com.tfg.authservice.auth.security.permission.RequiresPermission;
+import com.tfg.authservice.auth.security.throttle.LoginThrottle;
 import com.tfg.authservice.auth.service.AuthService;
+import com.tfg.authservice.auth.service.PasswordHashingExecutor;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 
 @RestController
@@ -22,25 +34,97 @@ import org.springframework.web.bind.annotation.RequestBody;
 public class AuthController {
 
     private final AuthService authService; // final necesario para inyección de dependencias
+    private final PasswordHashingExecutor passwordHashingExecutor; // pool acotado para el trabajo con BCrypt
+    private final LoginThrottle loginThrottle; // límite de intentos por cuenta e IP
+    private final LoginAudit loginAudit; // auditoría asíncrona de logins y registros
 
     
     /**
      * Endpoint para registrar un nuevo usuario.
      * @param registerRequest Contiene los datos del nuevo usuario.
+     * @param httpRequest Petición HTTP (dirección del cliente).
      * @return Respuesta con el token de autenticación.
      * ResponseEntity:	Devuelve respuestas HTTP bien formadas
+     * Asíncrono: el hilo de Tomcat queda libre mientras BCrypt trabaja en el pool dedicado.
+     * El resultado se audita en segundo plano (LoginAudit), sin añadir acceso a BD a la petición.
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest) {
+        long start = System.nanoTime();
+        String ip = httpRequest.getRemoteAddr();
+        try {
+            return passwordHashingExecutor.submit(() -> authService.register(request))
+                    .whenComplete((response, error) -> loginAudit.register(request.getUsername(), ip, start, error))
+                    .thenApply(ResponseEntity::ok);
+        } catch (RuntimeException ex) {
+            loginAudit.register(request.getUsername(), ip, start, ex); // Rechazado antes de encolar (503)
+            throw ex;
+        }
     }
 
     
+    /**
+     * Endpoint para iniciar sesión.
+     * Asíncrono como el registro; si el pool está saturado responde 503 con Retry-After.
+     * Los intentos que superan el límite por cuenta o IP se rechazan (429) antes de tocar BD o BCrypt.
+     * Los intentos que llegan al controlador, también los rechazados (429 o 503), se auditan en segundo plano;
+     * los que no superan la validación del cuerpo (400) no llegan aquí y no se auditan.
+     * @param request Credenciales del usuario.
+     * @param httpRequest Petición HTTP (dirección del cliente).
+     * @return Respuesta con el token de autenticación.
+     */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
+        long start = System.nanoTime();
+        String ip = httpRequest.getRemoteAddr();
+        try {
+            loginThrottle.check(request.getUsername(), ip);
+            return passwordHashingExecutor.submit(() -> authService.login(request))
+                    .whenComplete((response, error) -> loginAudit.login(request.getUsername(), ip, start, error))
+                    .thenApply(ResponseEntity::ok);
+        } catch (RuntimeException ex) {
+            loginAudit.login(request.getUsername(), ip, start, ex); // Rechazado antes de encolar (429 o 503)
+            throw ex;
+        }
+    }
+
+
+    /**
+     * Endpoint para renovar el token de acceso sin reenviar la contraseña.
+     * @param request Contiene el refresh token vigente (se invalida al usarlo).
+     * @return Respuesta con el nuevo token de acceso y el nuevo refresh token.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        AuthResponse response = authService.refresh(request);
         return ResponseEntity.ok(response);
     }
-    
+
+
+    /**
+     * Endpoint para cerrar sesión: revoca el token de acceso con el que se llama.
+     * @param authorization Cabecera "Authorization: Bearer <token>".
+     * @return 204 sin contenido.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        authService.logout(authorization.replaceFirst("(?i)^Bearer\\s+", ""));
+        return ResponseEntity.noContent().build();
+    }
+
+
+    /**
+     * Endpoint de administración para revocar cualquier token por su jti (requiere TOKEN_REVOKE).
+     * @param jti Identificador del token.
+     * @return 204 sin contenido.
+     */
+    @RequiresPermission(Permission.TOKEN_REVOKE)
+    @PostMapping("/revoke/{jti}")
+    public ResponseEntity<Void> revoke(@PathVariable String jti) {
+        authService.revoke(jti);
+        return ResponseEntity.noContent().build();
+    }
+
 }
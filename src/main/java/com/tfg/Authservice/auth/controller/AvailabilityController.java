@@ -0,0 +1,58 @@
+package com.tfg.authservice.auth.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tfg.authservice.auth.dto.AvailabilityResponse;
+import com.tfg.authservice.auth.security.throttle.LoginThrottle;
+import com.tfg.authservice.auth.service.AvailabilityService;
+import com.tfg.authservice.exception.BusinessException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Disponibilidad de username/email para la validación mientras se escribe en el registro.
+ * Público como el resto de /auth: no revela más que un intento de registro, y cada consulta
+ * gasta el cupo por IP del login para que no sirva para enumerar usuarios y emails.
+ */
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+public class AvailabilityController {
+
+    private static final BusinessException VALUE_REQUIRED = new BusinessException("username or email is required", HttpStatus.BAD_REQUEST);
+
+    private final AvailabilityService availabilityService;
+    private final LoginThrottle loginThrottle; // límite por IP compartido con el login
+
+
+    /**
+     * Comprueba si un username y/o un email están libres (formulario de registro).
+     * Los valores libres se resuelven casi siempre en memoria, sin consultar la BD.
+     * @param username Username a comprobar (opcional).
+     * @param email Email a comprobar (opcional).
+     * @param httpRequest Petición HTTP (IP del cliente para el límite de peticiones).
+     * @return Disponibilidad de cada valor recibido; 429 si la IP ha superado su límite.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> availability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            HttpServletRequest httpRequest) {
+        loginThrottle.checkIp(httpRequest.getRemoteAddr());
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasUsername && !hasEmail) {
+            throw VALUE_REQUIRED;
+        }
+        return ResponseEntity.ok(new AvailabilityResponse(
+                hasUsername ? availabilityService.isUsernameAvailable(username) : null,
+                hasEmail ? availabilityService.isEmailAvailable(email) : null));
+    }
+}
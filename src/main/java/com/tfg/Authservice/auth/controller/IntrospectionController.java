@@ -0,0 +1,57 @@
+package com.tfg.authservice.auth.controller;
+
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tfg.authservice.auth.dto.IntrospectionRequest;
+import com.tfg.authservice.auth.dto.IntrospectionResponse;
+import com.tfg.authservice.auth.security.permission.Permission;
+import com.tfg.authservice.auth.security.permission.RequiresPermission;
+import com.tfg.authservice.auth.service.TokenIntrospectionService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Introspección de tokens (RFC 7662) para el API gateway.
+ * Protegido como exige la RFC (§2.1): quien llama se autentica con su propio token, que debe
+ * incluir TOKEN_INTROSPECT; si fuera público, cualquiera podría sondear si un token sigue vivo.
+ */
+@RequiresPermission(Permission.TOKEN_INTROSPECT)
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+public class IntrospectionController {
+
+    private final TokenIntrospectionService introspectionService;
+
+
+    /**
+     * Introspección estándar de un token (formulario "token=...").
+     * @param token Token a comprobar.
+     * @return Estado del token.
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<IntrospectionResponse> introspect(@RequestParam("token") String token) {
+        return ResponseEntity.ok(introspectionService.introspect(token));
+    }
+
+
+    /**
+     * Introspección por lotes: {"tokens": [...]} en JSON, una respuesta por token en el mismo orden.
+     * @param request Tokens a comprobar.
+     * @return Estado de cada token.
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<IntrospectionResponse>> introspectAll(@Valid @RequestBody IntrospectionRequest request) {
+        return ResponseEntity.ok(introspectionService.introspectAll(request.getTokens()));
+    }
+}
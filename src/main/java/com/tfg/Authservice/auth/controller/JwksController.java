@@ -0,0 +1,53 @@
+package com.tfg.authservice.auth.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.tfg.authservice.auth.security.JwtProvider;
+import com.tfg.authservice.auth.security.key.JwkSet;
+
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Publica las claves públicas de firma (JWKS) para que otros servicios
+ * verifiquen los tokens localmente, sin llamar a este servicio.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtProvider jwtProvider;
+
+    // Tiempo (segundos) que clientes y proxies pueden cachear el documento
+    @Value("${jwt.jwks.max-age:300}")
+    private long maxAgeSeconds;
+
+
+    /**
+     * Endpoint JWKS estándar.
+     * Sirve los bytes ya serializados; si el ETag coincide con If-None-Match responde 304 sin cuerpo.
+     * @param request Petición actual (para la comprobación del ETag).
+     * @return Documento JWKS con ETag fuerte y Cache-Control público.
+     */
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks(WebRequest request) {
+        JwkSet jwkSet = jwtProvider.getJwkSet();
+        if (request.checkNotModified(jwkSet.etag())) {
+            return null; // Spring ya ha preparado la respuesta 304
+        }
+
+        return ResponseEntity.ok()
+                .eTag(jwkSet.etag())
+                .cacheControl(CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jwkSet.json());
+    }
+}
@@ -0,0 +1,69 @@
+package com.tfg.authservice.auth.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tfg.authservice.auth.dto.ImportResult;
+import com.tfg.authservice.auth.security.permission.Permission;
+import com.tfg.authservice.auth.security.permission.RequiresPermission;
+import com.tfg.authservice.auth.service.UserImportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Endpoints de administración de usuarios (requieren USER_IMPORT).
+ */
+@RequiresPermission(Permission.USER_IMPORT)
+@RestController
+@RequestMapping("/auth/admin/users")
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final byte[] NEWLINE = { '\n' };
+
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+
+
+    /**
+     * Importación masiva de usuarios.
+     * El cuerpo se lee en streaming (NDJSON o CSV con cabecera) y la respuesta devuelve,
+     * también en streaming, un resultado NDJSON por línea a medida que se inserta cada lote.
+     * @param request Petición HTTP con el cuerpo a importar.
+     * @return Flujo NDJSON de ImportResult.
+     */
+    @PostMapping(value = "/import", consumes = { NDJSON, "text/csv" }, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request) throws IOException {
+        boolean csv = request.getContentType() != null && request.getContentType().startsWith("text/csv");
+        InputStream body = request.getInputStream();
+
+        StreamingResponseBody response = out -> userImportService.importUsers(body, csv, results -> write(out, results));
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(response);
+    }
+
+    // Escribe los resultados de un lote y los envía al cliente sin esperar al resto
+    private void write(OutputStream out, List<ImportResult> results) {
+        try {
+            for (ImportResult result : results) {
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write(NEWLINE);
+            }
+            out.flush();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Client disconnected during import", ex);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.tfg.authservice.auth.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 /**
  * Se envía al frontend tras login o registro exitoso. 
  * El token JWT irá en el header Authorization en futuras peticiones.
+ * El refresh token permite obtener un nuevo JWT en /auth/refresh sin volver a enviar la contraseña.
  */
 
 @Data
@@ -16,4 +19,11 @@ public class AuthResponse {
     private String username;
     private String email;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String refreshToken;
+
+    public AuthResponse(String token, String username, String email) {
+        this(token, username, email, null);
+    }
+
 }
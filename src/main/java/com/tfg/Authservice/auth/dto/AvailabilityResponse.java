@@ -0,0 +1,18 @@
+package com.tfg.authservice.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Disponibilidad de los valores consultados; los campos no consultados se omiten.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityResponse {
+
+    private Boolean username;
+    private Boolean email;
+}
@@ -0,0 +1,27 @@
+package com.tfg.authservice.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Resultado de una línea de la importación masiva de usuarios.
+ * Se devuelve uno por línea, en NDJSON, a medida que se procesa cada lote.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportResult {
+
+    public enum Status {
+        CREATED,   // usuario insertado
+        DUPLICATE, // username o email ya existían (o se repiten en la importación)
+        INVALID    // línea mal formada o que no cumple las reglas del registro
+    }
+
+    private int line;
+    private String username;
+    private Status status;
+    private String message;
+}
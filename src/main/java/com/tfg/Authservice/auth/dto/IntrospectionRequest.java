@@ -0,0 +1,20 @@
+package com.tfg.authservice.auth.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de introspección por lotes: varios tokens en una sola petición.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectionRequest {
+
+    @NotEmpty(message = "Tokens are mandatory")
+    private List<String> tokens;
+}
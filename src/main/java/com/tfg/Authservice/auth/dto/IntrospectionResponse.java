@@ -0,0 +1,28 @@
+package com.tfg.authservice.auth.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Value;
+
+/**
+ * Respuesta de introspección de un token (RFC 7662).
+ * Si el token no es válido, ha caducado o está revocado, solo se devuelve {"active": false}.
+ * Inmutable (sin setters): la instancia INACTIVE se comparte entre todas las peticiones.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponse {
+
+    // Instancia compartida para todos los tokens no activos
+    public static final IntrospectionResponse INACTIVE = new IntrospectionResponse(false, null, null, null, null, null, null);
+
+    boolean active;
+    String sub;
+    Long exp; // segundos desde epoch, como en el JWT
+    Long iat;
+    String jti;
+    List<String> roles; // inmutable: viene de TokenClaims
+    Long perm; // máscara de permisos (ver Permission)
+}
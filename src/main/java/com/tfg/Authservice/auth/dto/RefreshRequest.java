@@ -0,0 +1,22 @@
+package com.tfg.authservice.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * DTO peticiones de renovación del token de acceso.
+ *
+ * Contiene el refresh token opaco recibido en el último login, registro o renovación.
+ * No permite campos en blanco.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshRequest {
+
+    @NotBlank(message = "Refresh token is mandatory")
+    private String refreshToken;
+}
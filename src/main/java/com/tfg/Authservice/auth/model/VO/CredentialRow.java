@@ -0,0 +1,12 @@
+package com.tfg.authservice.auth.model.VO;
+
+import com.tfg.authservice.auth.model.VO.Role.RoleName;
+
+/**
+ * Fila plana de la consulta de credenciales: una por cada rol del usuario.
+ *
+ * Se construye con una expresión "select new" de JPQL, por lo que no es una entidad
+ * y Hibernate no la registra en el contexto de persistencia (sin snapshot ni dirty-checking).
+ */
+public record CredentialRow(Long id, String username, String email, String password, RoleName roleName) {
+}
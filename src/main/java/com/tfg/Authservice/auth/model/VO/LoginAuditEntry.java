@@ -0,0 +1,56 @@
+package com.tfg.authservice.auth.model.VO;
+
+import java.time.Instant;
+
+import com.tfg.authservice.auth.audit.AuditEvent;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Fila de auditoría de un intento de login o registro.
+ *
+ * Solo se declara para que Hibernate cree la tabla login_audit: las filas se insertan por lotes
+ * con LoginAuditRepository (JDBC), nunca a través de JPA.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "login_audit", indexes = {
+    @Index(name = "ix_login_audit_occurred_at", columnList = "occurred_at"),
+    @Index(name = "ix_login_audit_username", columnList = "username")
+})
+@Data
+public class LoginAuditEntry {
+
+    // Los usernames presentados en un login no están validados: se recortan a este tamaño al auditarlos
+    public static final int USERNAME_LENGTH = 320;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private AuditEvent.Type type;
+
+    @Column(length = USERNAME_LENGTH)
+    private String username;
+
+    @Column(name = "ip_address", length = 64)
+    private String ipAddress;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AuditEvent.Outcome outcome;
+
+    @Column(nullable = false)
+    private int status;
+
+    @Column(name = "latency_micros", nullable = false)
+    private long latencyMicros;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+}
@@ -0,0 +1,33 @@
+package com.tfg.authservice.auth.model.VO;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Contador compartido de intentos de login por ventana fija (modo auth.throttle.shared).
+ *
+ * La clave es "ip:<dirección>" o "user:<username>"; cada instancia incrementa la misma fila,
+ * de modo que los límites se mantienen aunque el tráfico se reparta entre varias instancias.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "login_throttle", indexes = {
+    @Index(name = "ix_login_throttle_window_start", columnList = "window_start")
+})
+@Data
+public class LoginThrottleCounter {
+
+    @Id
+    @Column(name = "throttle_key", length = 320)
+    private String throttleKey;
+
+    @Column(name = "window_start", nullable = false)
+    private Instant windowStart;
+
+    @Column(nullable = false)
+    private int attempts;
+}
@@ -0,0 +1,54 @@
+package com.tfg.authservice.auth.model.VO;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Refresh token opaco y rotatorio.
+ *
+ * Solo se guarda el hash SHA-256 del token, nunca el valor en claro.
+ * Todos los tokens obtenidos por rotación a partir de un mismo login comparten "familyId":
+ * si se presenta un token ya usado (reutilización), se revoca la familia completa.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "ux_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+    @Index(name = "ix_refresh_tokens_family_id", columnList = "family_id"),
+    @Index(name = "ix_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hash SHA-256 (hex) del token entregado al cliente
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Identificador común de la cadena de rotaciones
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Momento en que se canjeó por uno nuevo; un token usado no vuelve a ser válido
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+}
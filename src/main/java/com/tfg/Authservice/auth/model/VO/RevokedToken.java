@@ -0,0 +1,34 @@
+package com.tfg.authservice.auth.model.VO;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Token de acceso revocado (logout o revocación administrativa), identificado por su "jti".
+ *
+ * Solo hace falta recordarlo hasta su expiración: pasado "expiresAt" el propio JWT
+ * ya no es válido y la fila puede borrarse.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "ix_revoked_tokens_expires_at", columnList = "expires_at"),
+    @Index(name = "ix_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+@Data
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
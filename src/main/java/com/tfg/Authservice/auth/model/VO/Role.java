@@ -7,6 +7,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.*;
 
@@ -22,11 +23,12 @@ import lombok.*;
 public class Role {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    // Se utiliza la estrategia de generación de IDENTITY para que la base de datos genere automáticamente el ID
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+    // Se utiliza una secuencia (optimizador pooled) para que los INSERT puedan agruparse en lotes JDBC
+    @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = 50)
     private Long Id;
 
-    // Nombre del rol (ADMIN, MANAGER, DEVELOPER)
+    // Nombre del rol (ADMIN, MANAGER, DEVELOPER, GATEWAY)
     // Se utiliza EnumType.STRING para almacenar el nombre del rol como una cadena en la base de datos
     @Enumerated(EnumType.STRING)
     // Se establece que el nombre del rol no puede ser nulo y debe ser único en la base de datos
@@ -38,7 +40,8 @@ public class Role {
     
         ROLE_ADMIN,
         ROLE_MANAGER,
-        ROLE_DEVELOPER
+        ROLE_DEVELOPER,
+        ROLE_GATEWAY // Cliente máquina (API gateway): solo introspección de tokens
     }
 
 }
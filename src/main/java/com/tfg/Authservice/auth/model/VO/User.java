@@ -3,6 +3,7 @@ package com.tfg.authservice.auth.model.VO;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -10,23 +11,46 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+    @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+    @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+}, indexes = {
+    @Index(name = "ix_users_created_at", columnList = "created_at")
+})
 @Data
 public class User {
 
+    // Nombres explícitos de las restricciones únicas: el registro los usa para distinguir el duplicado
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    // Secuencia de ids; Hibernate reserva bloques de ALLOCATION_SIZE (optimizador pooled)
+    public static final String ID_SEQUENCE = "users_seq";
+    public static final int ALLOCATION_SIZE = 50;
+
+    // Secuencia en lugar de IDENTITY: el id se conoce sin insertar, lo que permite agrupar
+    // los INSERT en lotes JDBC (con IDENTITY Hibernate desactiva el batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ALLOCATION_SIZE)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
     @Column(nullable = false)
     private String password;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
+    // La pone PostgreSQL al insertar (también en la importación masiva por JDBC), con un único reloj
+    // para todas las instancias; la usa la sincronización del índice de disponibilidad.
+    // No se relee tras el INSERT: en la entidad recién guardada queda a null
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "timestamp(6) with time zone default now()")
+    private Instant createdAt;
+
     @Builder.Default
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "user_roles",
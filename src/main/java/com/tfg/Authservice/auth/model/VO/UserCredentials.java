@@ -0,0 +1,36 @@
+package com.tfg.authservice.auth.model.VO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Datos mínimos que necesita el login: identificador, hash de la contraseña, email y roles.
+ *
+ * Es de solo lectura; para cambiar la contraseña se usa UserRepository.updatePassword.
+ */
+public record UserCredentials(Long id, String username, String email, String passwordHash, List<String> roles) {
+
+    public UserCredentials {
+        roles = List.copyOf(roles);
+    }
+
+    /**
+     * Agrupa las filas de la consulta (una por rol) en unas credenciales.
+     *
+     * @param rows Filas de un mismo usuario; vacía si el usuario no existe.
+     */
+    public static Optional<UserCredentials> of(List<CredentialRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        CredentialRow first = rows.get(0);
+        List<String> roles = new ArrayList<>(rows.size());
+        for (CredentialRow row : rows) {
+            if (row.roleName() != null) { // left join: usuario sin roles
+                roles.add(row.roleName().name());
+            }
+        }
+        return Optional.of(new UserCredentials(first.id(), first.username(), first.email(), first.password(), roles));
+    }
+}
@@ -1,11 +1,16 @@
 package com.tfg.authservice.auth.model.loader;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import com.tfg.authservice.auth.model.VO.Role;
 import com.tfg.authservice.auth.model.VO.Role.RoleName;
 import com.tfg.authservice.auth.repository.RoleRepository;
+import com.tfg.authservice.auth.service.RoleRegistry;
 
 import lombok.RequiredArgsConstructor;
 
@@ -14,14 +19,22 @@ import lombok.RequiredArgsConstructor;
 public class DataLoader implements CommandLineRunner {
 
     private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
 
     @Override
     public void run(String... args) {
-        if (roleRepository.findByRoleName(RoleName.ROLE_DEVELOPER).isEmpty()) {
-            Role developerRole = Role.builder()
-                .roleName(RoleName.ROLE_DEVELOPER)
-                .build();
-            roleRepository.save(developerRole);
+        // Siembra los roles que falten (una consulta y, como mucho, un insert por rol nuevo)
+        Set<RoleName> missing = EnumSet.allOf(RoleName.class);
+        roleRepository.findAll().forEach(role -> missing.remove(role.getRoleName()));
+
+        if (!missing.isEmpty()) {
+            List<Role> roles = missing.stream()
+                .map(name -> Role.builder().roleName(name).build())
+                .toList();
+            roleRepository.saveAll(roles);
         }
+
+        // Carga el catálogo completo en memoria
+        roleRegistry.reload();
     }
 }
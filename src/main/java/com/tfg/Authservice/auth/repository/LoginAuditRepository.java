@@ -0,0 +1,71 @@
+package com.tfg.authservice.auth.repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.tfg.authservice.auth.audit.AuditEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Escritura por lotes de la auditoría de logins (tabla login_audit), por JDBC y fuera de JPA.
+ *
+ * Como en UserBulkRepository, cada columna viaja como un array y un único
+ * INSERT ... SELECT FROM unnest(...) inserta el lote entero: una sentencia fija (preparada una vez)
+ * y un round trip por lote, sea cual sea su tamaño.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LoginAuditRepository {
+
+    private static final String INSERT_EVENTS = "INSERT INTO login_audit "
+            + "(event_type, username, ip_address, outcome, status, latency_micros, occurred_at) "
+            + "SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::int[], ?::bigint[], ?::text[]::timestamptz[])";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserta un lote de eventos (autocommit: una transacción por lote).
+     *
+     * @param events Eventos a insertar.
+     */
+    public void insertBatch(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        int size = events.size();
+        Object[] types = new Object[size];
+        Object[] usernames = new Object[size];
+        Object[] ipAddresses = new Object[size];
+        Object[] outcomes = new Object[size];
+        Object[] statuses = new Object[size];
+        Object[] latencies = new Object[size];
+        Object[] occurredAt = new Object[size];
+        for (int i = 0; i < size; i++) {
+            AuditEvent event = events.get(i);
+            types[i] = event.type().name();
+            usernames[i] = event.username();
+            ipAddresses[i] = event.ipAddress();
+            outcomes[i] = event.outcome().name();
+            statuses[i] = event.status();
+            latencies[i] = event.latencyMicros();
+            // ISO-8601 en UTC: sin depender de la zona horaria de la sesión
+            occurredAt[i] = event.occurredAt().toString();
+        }
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_EVENTS);
+            statement.setArray(1, connection.createArrayOf("text", types));
+            statement.setArray(2, connection.createArrayOf("text", usernames));
+            statement.setArray(3, connection.createArrayOf("text", ipAddresses));
+            statement.setArray(4, connection.createArrayOf("text", outcomes));
+            statement.setArray(5, connection.createArrayOf("int4", statuses));
+            statement.setArray(6, connection.createArrayOf("int8", latencies));
+            statement.setArray(7, connection.createArrayOf("text", occurredAt));
+            return statement;
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.tfg.authservice.auth.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tfg.authservice.auth.model.VO.LoginThrottleCounter;
+
+public interface LoginThrottleRepository extends JpaRepository<LoginThrottleCounter, String> {
+
+    // Suma un intento en la ventana actual (o abre una nueva) y devuelve el total, en un solo round trip
+    @Transactional
+    @Query(value = "WITH upserted AS ("
+            + "INSERT INTO login_throttle (throttle_key, window_start, attempts) VALUES (:key, :windowStart, 1) "
+            + "ON CONFLICT (throttle_key) DO UPDATE SET "
+            + "attempts = CASE WHEN login_throttle.window_start >= EXCLUDED.window_start "
+            + "THEN login_throttle.attempts + 1 ELSE 1 END, "
+            + "window_start = GREATEST(login_throttle.window_start, EXCLUDED.window_start) "
+            + "RETURNING attempts) SELECT attempts FROM upserted", nativeQuery = true)
+    int incrementAttempts(@Param("key") String key, @Param("windowStart") Instant windowStart);
+
+    // Borra los contadores de ventanas ya cerradas
+    @Transactional
+    @Modifying
+    @Query("delete from LoginThrottleCounter c where c.windowStart < :before")
+    int deleteByWindowStartBefore(@Param("before") Instant before);
+}
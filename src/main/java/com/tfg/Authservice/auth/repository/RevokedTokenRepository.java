@@ -0,0 +1,28 @@
+package com.tfg.authservice.auth.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tfg.authservice.auth.model.VO.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Revocaciones aún vigentes (carga inicial del filtro en memoria)
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    // Revocaciones hechas desde la última sincronización (por esta u otras instancias)
+    List<RevokedToken> findByRevokedAtAfter(Instant since);
+
+    // Borra como máximo "limit" revocaciones caducadas
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM revoked_tokens WHERE jti IN "
+            + "(SELECT jti FROM revoked_tokens WHERE expires_at < :now LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("limit") int limit);
+}
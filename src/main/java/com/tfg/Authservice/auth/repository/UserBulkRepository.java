@@ -0,0 +1,155 @@
+package com.tfg.authservice.auth.repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tfg.authservice.auth.model.VO.User;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inserción masiva de usuarios por JDBC, fuera de JPA.
+ *
+ * Cada lote se envía como arrays a un único INSERT ... SELECT FROM unnest(...) (PostgreSQL):
+ * un round trip por lote para users y otro para user_roles, sin entidades ni contexto de persistencia.
+ * Los duplicados (username o email) se descartan con ON CONFLICT DO NOTHING y RETURNING indica
+ * qué filas se han insertado realmente.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBulkRepository {
+
+    // Ids reservados como el optimizador pooled de Hibernate: un nextval por cada ALLOCATION_SIZE filas
+    // (la secuencia avanza de ALLOCATION_SIZE en ALLOCATION_SIZE) y el valor v reserva v-49..v
+    private static final String NEXT_ID_BLOCKS = "SELECT nextval('" + User.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+    private static final String INSERT_USERS = "INSERT INTO users (id, username, email, password) "
+            + "SELECT * FROM unnest(?::bigint[], ?::text[], ?::text[], ?::text[]) "
+            + "ON CONFLICT DO NOTHING RETURNING id, username";
+
+    private static final String INSERT_USER_ROLES = "INSERT INTO user_roles (user_id, role_id) "
+            + "SELECT * FROM unnest(?::bigint[], ?::bigint[])";
+
+    private static final String SELECT_USERS = "SELECT username, email, created_at FROM users";
+
+    private static final String SELECT_USERS_CREATED_AFTER = SELECT_USERS + " WHERE created_at > ?";
+
+    // Filas por viaje al recorrer la tabla (con cursor del servidor dentro de la transacción)
+    private static final int SCAN_FETCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Receptor de filas en {@link #forEachUser(Instant, UserRowConsumer)}.
+     */
+    @FunctionalInterface
+    public interface UserRowConsumer {
+        void accept(String username, String email, Instant createdAt);
+    }
+
+    /**
+     * Fila ya preparada para insertar (contraseña ya hasheada).
+     */
+    public record NewUser(String username, String email, String passwordHash, Long roleId) {
+    }
+
+    /**
+     * Inserta un lote de usuarios con su rol en una sola transacción.
+     *
+     * @param users Usuarios a insertar.
+     * @return Identificador asignado a cada username insertado; los ausentes eran duplicados.
+     */
+    @Transactional
+    public Map<String, Long> insertBatch(List<NewUser> users) {
+        Map<String, Long> inserted = new HashMap<>(users.size() * 2);
+        if (users.isEmpty()) {
+            return inserted;
+        }
+
+        Object[] ids = allocateIds(users.size());
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_USERS);
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            statement.setArray(2, textArray(connection, users.stream().map(NewUser::username).toArray()));
+            statement.setArray(3, textArray(connection, users.stream().map(NewUser::email).toArray()));
+            statement.setArray(4, textArray(connection, users.stream().map(NewUser::passwordHash).toArray()));
+            return statement;
+        }, rs -> {
+            inserted.put(rs.getString("username"), rs.getLong("id"));
+        });
+
+        Map<String, Long> roleByUsername = new HashMap<>(users.size() * 2);
+        users.forEach(user -> roleByUsername.put(user.username(), user.roleId()));
+
+        Object[] userIds = new Object[inserted.size()];
+        Object[] roleIds = new Object[inserted.size()];
+        int i = 0;
+        for (Map.Entry<String, Long> entry : inserted.entrySet()) {
+            userIds[i] = entry.getValue();
+            roleIds[i++] = roleByUsername.get(entry.getKey());
+        }
+        if (userIds.length > 0) {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT_USER_ROLES);
+                statement.setArray(1, connection.createArrayOf("bigint", userIds));
+                statement.setArray(2, connection.createArrayOf("bigint", roleIds));
+                return statement;
+            });
+        }
+        return inserted;
+    }
+
+    /**
+     * Recorre en streaming los usuarios creados después del instante indicado, sin cargarlos en memoria.
+     * La transacción de solo lectura permite al driver de PostgreSQL usar un cursor por lotes.
+     *
+     * @param createdAfter Instante a partir del cual (exclusivo) se leen usuarios; null para toda la tabla.
+     * @param consumer Receptor de cada fila.
+     */
+    @Transactional(readOnly = true)
+    public void forEachUser(Instant createdAfter, UserRowConsumer consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    createdAfter == null ? SELECT_USERS : SELECT_USERS_CREATED_AFTER);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            if (createdAfter != null) {
+                statement.setTimestamp(1, Timestamp.from(createdAfter));
+            }
+            return statement;
+        }, rs -> {
+            Timestamp createdAt = rs.getTimestamp(3);
+            consumer.accept(rs.getString(1), rs.getString(2), createdAt != null ? createdAt.toInstant() : null);
+        });
+    }
+
+    // Los ids de duplicados descartados quedan sin usar, igual que los huecos que deja Hibernate
+    private Object[] allocateIds(int count) {
+        Object[] ids = new Object[count];
+        int next = 0;
+        while (next < count) {
+            int blocks = (count - next + User.ALLOCATION_SIZE - 1) / User.ALLOCATION_SIZE;
+            for (Long hi : jdbcTemplate.queryForList(NEXT_ID_BLOCKS, Long.class, blocks)) {
+                // El primer valor de la secuencia (1) no tiene ids por debajo: solo aporta el 1
+                for (long id = Math.max(1, hi - User.ALLOCATION_SIZE + 1); id <= hi && next < count; id++) {
+                    ids[next++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static Array textArray(Connection connection, Object[] values) throws SQLException {
+        return connection.createArrayOf("text", values);
+    }
+}
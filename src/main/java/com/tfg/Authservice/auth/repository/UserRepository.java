@@ -1,10 +1,17 @@
 package com.tfg.authservice.auth.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.tfg.authservice.auth.model.VO.CredentialRow;
 import com.tfg.authservice.auth.model.VO.User;
+import com.tfg.authservice.auth.model.VO.UserCredentials;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     // Aquí puedes agregar métodos personalizados si es necesario
@@ -13,4 +20,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
 
+    // Credenciales para el login: solo las columnas necesarias, sin hidratar la entidad User
+    @Query("select new com.tfg.authservice.auth.model.VO.CredentialRow(u.id, u.username, u.email, u.password, r.roleName) "
+            + "from User u left join u.roles r where u.username = :username")
+    List<CredentialRow> findCredentialRows(@Param("username") String username);
+
+    default Optional<UserCredentials> findCredentialsByUsername(String username) {
+        return UserCredentials.of(findCredentialRows(username));
+    }
+
+    // Sustituye solo el hash de la contraseña (rehash al cambiar el coste de BCrypt)
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
 }
@@ -0,0 +1,26 @@
+package com.tfg.authservice.auth.security;
+
+/**
+ * Principal de una petición autenticada mediante JWT.
+ *
+ * Se construye únicamente a partir de los claims firmados del token,
+ * sin consultar la base de datos.
+ *
+ * @param userId identificador del usuario
+ * @param username nombre de usuario
+ * @param permissions máscara de permisos del token (ver Permission)
+ */
+public record AuthenticatedUser(Long userId, String username, long permissions) {
+
+    /**
+     * Indica si el usuario tiene todos los permisos de la máscara (un único AND).
+     */
+    public boolean hasAll(long required) {
+        return (permissions & required) == required;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,491 @@
+package com.tfg.authservice.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.tfg.authservice.auth.security.key.SigningKey;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Codificador y decodificador HS256 escrito a mano para el conjunto fijo de claims del servicio.
+ *
+ * Produce exactamente los mismos bytes que jjwt (cabecera {"kid","alg"} y claims en el orden
+ * jti, sub, uid, roles, perm, iat, exp), pero sin builder, sin mapas ni Jackson:
+ *   - la cabecera se codifica una sola vez por clave;
+ *   - el JSON, el base64url y la firma se escriben en búferes reutilizados por hilo;
+ *   - cada hilo tiene su propio Mac ya inicializado (Mac no es seguro entre hilos).
+ *
+ * La firma se compara en tiempo constante. Todo lo que no reconoce (otra cabecera, otro orden
+ * de claims, escapes JSON, firma incorrecta, token caducado) devuelve null y el llamante
+ * recurre a jjwt, que produce las mismas excepciones de siempre.
+ */
+final class Hs256TokenCodec {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final int[] BASE64URL_VALUES = new int[128];
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    // Escapes de Jackson para caracteres de control: cortos cuando existen, \\u00XX en el resto
+    private static final byte[] JSON_HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] JTI = ascii("{\"jti\":\"");
+    private static final byte[] SUB = ascii("\",\"sub\":\"");
+    private static final byte[] UID = ascii("\",\"uid\":");
+    private static final byte[] ROLES = ascii(",\"roles\":[");
+    private static final byte[] PERM = ascii("],\"perm\":");
+    private static final byte[] IAT = ascii(",\"iat\":");
+    private static final byte[] EXP = ascii(",\"exp\":");
+
+    static {
+        Arrays.fill(BASE64URL_VALUES, -1);
+        for (int i = 0; i < BASE64URL.length; i++) {
+            BASE64URL_VALUES[BASE64URL[i]] = i;
+        }
+    }
+
+    private final String kid;
+    private final String encodedHeader;
+    private final byte[] encodedHeaderBytes;
+    private final ThreadLocal<Buffers> buffers;
+
+    /**
+     * @param key clave HS256; su kid va en la cabecera pre-codificada.
+     */
+    Hs256TokenCodec(SigningKey key) {
+        if (key.algorithm() != SignatureAlgorithm.HS256) {
+            throw new IllegalArgumentException("Not an HS256 key: " + key.kid());
+        }
+        this.kid = key.kid();
+        this.encodedHeader = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("{\"kid\":\"" + kid + "\",\"alg\":\"HS256\"}").getBytes(StandardCharsets.UTF_8));
+        this.encodedHeaderBytes = ascii(encodedHeader);
+        // jjwt firma HS256 con los bytes del secreto aunque su longitud admita HS384/HS512
+        Key secret = new SecretKeySpec(key.signingKey().getEncoded(), MAC_ALGORITHM);
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(secret));
+    }
+
+    String kid() {
+        return kid;
+    }
+
+    /**
+     * Genera un token firmado.
+     *
+     * @param jti identificador del token.
+     * @param subject nombre de usuario.
+     * @param userId identificador del usuario.
+     * @param roles nombres de rol.
+     * @param permissions máscara de permisos.
+     * @param issuedAt emisión en segundos epoch.
+     * @param expiration expiración en segundos epoch.
+     * @return token compacto, idéntico al que generaría jjwt.
+     */
+    String encode(UUID jti, String subject, long userId, Collection<String> roles, long permissions,
+            long issuedAt, long expiration) {
+        Buffers b = buffers.get();
+
+        ByteBuilder json = b.json.reset();
+        json.append(JTI);
+        appendUuid(json, jti);
+        json.append(SUB);
+        appendJsonString(json, subject);
+        json.append(UID).appendLong(userId).append(ROLES);
+        boolean first = true;
+        for (String role : roles) {
+            if (!first) {
+                json.append((byte) ',');
+            }
+            json.append((byte) '"');
+            appendJsonString(json, role);
+            json.append((byte) '"');
+            first = false;
+        }
+        json.append(PERM).appendLong(permissions).append(IAT).appendLong(issuedAt).append(EXP).appendLong(expiration).append((byte) '}');
+
+        ByteBuilder out = b.token.reset();
+        out.append(encodedHeaderBytes).append((byte) '.');
+        appendBase64Url(out, json.bytes, json.length);
+
+        Mac mac = b.mac;
+        mac.update(out.bytes, 0, out.length);
+        doFinal(mac, b.signature);
+        out.append((byte) '.');
+        appendBase64Url(out, b.signature, SIGNATURE_LENGTH);
+
+        return new String(out.bytes, 0, out.length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Verifica y decodifica un token emitido con esta clave.
+     *
+     * @param token token compacto.
+     * @param now instante de referencia para la expiración.
+     * @return claims verificados, o null si el token no es de esta forma o no es válido (usar jjwt).
+     */
+    TokenClaims decode(String token, Instant now) {
+        int headerEnd = encodedHeader.length();
+        if (token.length() <= headerEnd + 1 || !token.startsWith(encodedHeader) || token.charAt(headerEnd) != '.') {
+            return null;
+        }
+        int payloadEnd = token.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || token.length() - payloadEnd - 1 != 43) { // 32 bytes en base64url sin relleno
+            return null;
+        }
+
+        Buffers b = buffers.get();
+        ByteBuilder signed = b.token.reset();
+        for (int i = 0; i < payloadEnd; i++) {
+            char c = token.charAt(i);
+            if (c >= 128) {
+                return null;
+            }
+            signed.append((byte) c);
+        }
+        Mac mac = b.mac;
+        mac.update(signed.bytes, 0, signed.length);
+        doFinal(mac, b.signature);
+
+        ByteBuilder received = b.json.reset();
+        if (!decodeBase64Url(token, payloadEnd + 1, token.length(), received) || received.length != SIGNATURE_LENGTH
+                || !constantTimeEquals(b.signature, received.bytes, SIGNATURE_LENGTH)) {
+            return null;
+        }
+
+        ByteBuilder payload = b.json.reset();
+        if (!decodeBase64Url(token, headerEnd + 1, payloadEnd, payload)) {
+            return null;
+        }
+        TokenClaims claims = new PayloadReader(payload.bytes, payload.length).read();
+        // Misma regla que jjwt (sin tolerancia): válido hasta el milisegundo de expiración incluido
+        if (claims == null || now.isAfter(claims.expiration())) {
+            return null;
+        }
+        return claims;
+    }
+
+    // Firma en el búfer del hilo, sin reservar un array por token
+    private static void doFinal(Mac mac, byte[] signature) {
+        try {
+            mac.doFinal(signature, 0);
+        } catch (ShortBufferException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Compara todos los bytes siempre: el tiempo no revela en qué posición difieren
+    static boolean constantTimeEquals(byte[] expected, byte[] actual, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= expected[i] ^ actual[i];
+        }
+        return diff == 0;
+    }
+
+    // Mismo formato que UUID.toString(), sin crear la cadena intermedia
+    private static void appendUuid(ByteBuilder out, UUID uuid) {
+        appendHex(out, uuid.getMostSignificantBits() >>> 32, 8);
+        out.append((byte) '-');
+        appendHex(out, uuid.getMostSignificantBits() >>> 16, 4);
+        out.append((byte) '-');
+        appendHex(out, uuid.getMostSignificantBits(), 4);
+        out.append((byte) '-');
+        appendHex(out, uuid.getLeastSignificantBits() >>> 48, 4);
+        out.append((byte) '-');
+        appendHex(out, uuid.getLeastSignificantBits(), 12);
+    }
+
+    private static void appendHex(ByteBuilder out, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.append(HEX[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    // Cadena JSON con las mismas reglas de escape que Jackson (UTF-8, sin escapar "/" ni el resto del BMP)
+    private static void appendJsonString(ByteBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append((byte) '\\').append((byte) c);
+            } else if (c < 0x20) {
+                out.append((byte) '\\');
+                switch (c) {
+                    case '\b' -> out.append((byte) 'b');
+                    case '\t' -> out.append((byte) 't');
+                    case '\n' -> out.append((byte) 'n');
+                    case '\f' -> out.append((byte) 'f');
+                    case '\r' -> out.append((byte) 'r');
+                    default -> out.append((byte) 'u').append((byte) '0').append((byte) '0')
+                            .append(JSON_HEX[c >> 4]).append(JSON_HEX[c & 0xF]);
+                }
+            } else if (c < 0x80) {
+                out.append((byte) c);
+            } else if (c < 0x800) {
+                out.append((byte) (0xC0 | (c >> 6))).append((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson (tal como lo configura jjwt) escribe los suplentes como \\uXXXX
+                out.append((byte) '\\').append((byte) 'u').append(JSON_HEX[c >> 12]).append(JSON_HEX[(c >> 8) & 0xF])
+                        .append(JSON_HEX[(c >> 4) & 0xF]).append(JSON_HEX[c & 0xF]);
+            } else {
+                out.append((byte) (0xE0 | (c >> 12))).append((byte) (0x80 | ((c >> 6) & 0x3F)))
+                        .append((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static void appendBase64Url(ByteBuilder out, byte[] src, int length) {
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            out.append(BASE64URL[bits >>> 18]).append(BASE64URL[(bits >>> 12) & 0x3F])
+                    .append(BASE64URL[(bits >>> 6) & 0x3F]).append(BASE64URL[bits & 0x3F]);
+        }
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xFF) << 16;
+            out.append(BASE64URL[bits >>> 18]).append(BASE64URL[(bits >>> 12) & 0x3F]);
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+            out.append(BASE64URL[bits >>> 18]).append(BASE64URL[(bits >>> 12) & 0x3F])
+                    .append(BASE64URL[(bits >>> 6) & 0x3F]);
+        }
+    }
+
+    // Base64url sin relleno; false si hay caracteres no válidos o bits sobrantes
+    private static boolean decodeBase64Url(String src, int from, int to, ByteBuilder out) {
+        int bits = 0;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            int value = c < 128 ? BASE64URL_VALUES[c] : -1;
+            if (value < 0) {
+                return false;
+            }
+            bits = bits << 6 | value;
+            if (++count == 4) {
+                out.append((byte) (bits >> 16)).append((byte) (bits >> 8)).append((byte) bits);
+                bits = 0;
+                count = 0;
+            }
+        }
+        // Los bits sobrantes del último carácter deben ser cero (RFC 4648 §3.5, forma canónica):
+        // si no, varias cadenas darían los mismos bytes y la firma tendría variantes aceptadas
+        if (count == 1 || (count == 2 && (bits & 0xF) != 0) || (count == 3 && (bits & 0x3) != 0)) {
+            return false;
+        }
+        if (count == 2) {
+            out.append((byte) (bits >> 4));
+        } else if (count == 3) {
+            out.append((byte) (bits >> 10)).append((byte) (bits >> 2));
+        }
+        return true;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Lector del payload con la forma exacta que escribe encode (y jjwt).
+     * Cualquier desviación, incluidos los escapes, devuelve null.
+     */
+    private static final class PayloadReader {
+
+        private final byte[] bytes;
+        private final int length;
+        private int position;
+
+        PayloadReader(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+
+        TokenClaims read() {
+            if (!expect(JTI)) {
+                return null;
+            }
+            String jti = string();
+            if (jti == null || !expect(SUB)) {
+                return null;
+            }
+            String subject = string();
+            if (subject == null || !expect(UID)) {
+                return null;
+            }
+            Long userId = number();
+            if (userId == null || !expect(ROLES)) {
+                return null;
+            }
+            List<String> roles = new ArrayList<>(2);
+            while (peek() != ']') {
+                if (!roles.isEmpty() && !expect((byte) ',')) {
+                    return null;
+                }
+                if (!expect((byte) '"')) {
+                    return null;
+                }
+                String role = string();
+                if (role == null) {
+                    return null;
+                }
+                roles.add(role);
+                position++; // Comilla de cierre
+            }
+            // PERM empieza por el "]" que cierra los roles
+            if (!expect(PERM)) {
+                return null;
+            }
+            Long permissions = number();
+            if (permissions == null || !expect(IAT)) {
+                return null;
+            }
+            Long issuedAt = number();
+            if (issuedAt == null || !expect(EXP)) {
+                return null;
+            }
+            Long expiration = number();
+            if (expiration == null || !expect((byte) '}') || position != length) {
+                return null;
+            }
+            return new TokenClaims(jti, subject, userId, roles, permissions,
+                    Instant.ofEpochSecond(issuedAt), Instant.ofEpochSecond(expiration));
+        }
+
+        // Cadena hasta la comilla de cierre, que no se consume
+        private String string() {
+            int start = position;
+            while (position < length) {
+                byte c = bytes[position];
+                if (c == '"') {
+                    return new String(bytes, start, position - start, StandardCharsets.UTF_8);
+                }
+                if (c == '\\' || (c >= 0 && c < 0x20)) {
+                    return null;
+                }
+                position++;
+            }
+            return null;
+        }
+
+        private Long number() {
+            int start = position;
+            long value = 0;
+            while (position < length && bytes[position] >= '0' && bytes[position] <= '9'
+                    && position - start < 18) {
+                value = value * 10 + (bytes[position++] - '0');
+            }
+            return position > start ? value : null;
+        }
+
+        private int peek() {
+            return position < length ? bytes[position] : -1;
+        }
+
+        private boolean expect(byte b) {
+            if (position < length && bytes[position] == b) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean expect(byte[] literal) {
+            if (length - position < literal.length) {
+                return false;
+            }
+            for (int i = 0; i < literal.length; i++) {
+                if (bytes[position + i] != literal[i]) {
+                    return false;
+                }
+            }
+            position += literal.length;
+            return true;
+        }
+    }
+
+    /**
+     * Estado por hilo: Mac inicializado con la clave y búferes que crecen según haga falta.
+     */
+    private static final class Buffers {
+
+        final Mac mac;
+        final ByteBuilder json = new ByteBuilder(256);
+        final ByteBuilder token = new ByteBuilder(512);
+        final byte[] signature = new byte[SIGNATURE_LENGTH];
+
+        Buffers(Key secret) {
+            try {
+                this.mac = Mac.getInstance(MAC_ALGORITHM);
+                this.mac.init(secret);
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("HmacSHA256 not available", ex);
+            }
+        }
+    }
+
+    private static final class ByteBuilder {
+
+        byte[] bytes;
+        int length;
+
+        ByteBuilder(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        ByteBuilder reset() {
+            length = 0;
+            return this;
+        }
+
+        ByteBuilder append(byte b) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[length++] = b;
+            return this;
+        }
+
+        ByteBuilder append(byte[] src) {
+            if (length + src.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + src.length));
+            }
+            System.arraycopy(src, 0, bytes, length, src.length);
+            length += src.length;
+            return this;
+        }
+
+        ByteBuilder appendLong(long value) {
+            if (value < 0) {
+                append((byte) '-');
+                value = -value;
+            }
+            int start = length;
+            do {
+                append((byte) ('0' + value % 10));
+                value /= 10;
+            } while (value != 0);
+            // Dígitos escritos al revés
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte tmp = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = tmp;
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tfg.authservice.auth.security;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.tfg.authservice.auth.service.TokenRevocationService;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro de autenticación stateless mediante tokens JWT (cabecera "Authorization: Bearer ...").
+ *
+ * La autenticación se construye únicamente con los claims firmados del token
+ * (usuario, id y roles), sin consultar UserRepository ni ejecutar BCrypt.
+ * Los tokens revocados (logout) se descartan; esa comprobación se resuelve en memoria
+ * salvo en los posibles falsos positivos del filtro de Bloom.
+ * Si el token falta o no es válido, la petición continúa sin autenticar y
+ * las reglas de SecurityConfig deciden si se rechaza.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // Las autoridades son pocas y fijas: se reutilizan en lugar de crearlas por petición
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private final JwtProvider jwtProvider;
+    private final TokenRevocationService revocationService;
+
+    public JwtAuthenticationFilter(JwtProvider jwtProvider, TokenRevocationService revocationService) {
+        this.jwtProvider = jwtProvider;
+        this.revocationService = revocationService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            String token = header.substring(BEARER_PREFIX.length()).trim();
+            try {
+                TokenClaims claims = jwtProvider.parseAndVerify(token);
+                if (!revocationService.isRevoked(claims.jti())) {
+                    authenticate(claims);
+                }
+            } catch (JwtException | IllegalArgumentException ex) {
+                // Token inválido o expirado: la petición sigue como anónima
+                SecurityContextHolder.clearContext();
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static void authenticate(TokenClaims claims) {
+        List<GrantedAuthority> authorities = claims.roles().stream()
+                .map(role -> AUTHORITIES.computeIfAbsent(role, SimpleGrantedAuthority::new))
+                .toList();
+
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                new AuthenticatedUser(claims.userId(), claims.subject(), claims.permissions()), null, authorities);
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+}
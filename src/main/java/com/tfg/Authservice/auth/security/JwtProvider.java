@@ -1,86 +1,345 @@
 package com.tfg.authservice.auth.security;
 
+import java.io.IOException;
+import java.nio.file.attribute.FileTime;
 import java.security.Key;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import com.tfg.authservice.auth.security.key.JwkSet;
+import com.tfg.authservice.auth.security.key.KeyRing;
+import com.tfg.authservice.auth.security.key.KeyStoreKeySource;
+import com.tfg.authservice.auth.security.key.PemKeys;
+import com.tfg.authservice.auth.security.key.SigningKey;
+import com.tfg.authservice.auth.security.permission.RolePermissions;
+import com.tfg.authservice.util.AuthMetrics;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Se utiliza para generar y validar tokens JWT.
- * 
+ *
+ * Admite dos modos de firma (jwt.signing.algorithm):
+ *   HS256: secreto compartido (jwt.secret), el modo original.
+ *   ES256: par de claves EC P-256; la clave pública se publica en /.well-known/jwks.json
+ *          para que otros servicios verifiquen los tokens localmente.
+ * Todos los tokens llevan la cabecera "kid" de la clave con la que se firmaron.
+ *
+ * Si se configura un almacén de claves (jwt.keystore.location), las claves se leen de él
+ * y se rotan sin cortes: se recarga periódicamente, la clave más reciente pasa a firmar
+ * y las anteriores siguen verificando hasta que caducan sus tokens (ver KeyRing).
+ *
+ * Con HS256 los tokens de la clave activa se emiten y verifican con Hs256TokenCodec
+ * (mismos bytes, mucha menos memoria); jjwt atiende el resto de casos.
+ *
  * @param jwtSecret clave secreta para firmar el token
  * @param jwtExpiration tiempo de expiración del token en milisegundos
  */
 
+@Slf4j
 @Component
 public class JwtProvider {
 
+    // Tiempos de firma y de verificación criptográfica (las respuestas de la caché no cuentan)
+    private static final Timer SIGN_TIMER = AuthMetrics.timer("auth.jwt.sign", "JWT signing time");
+    private static final Timer VERIFY_TIMER = AuthMetrics.timer("auth.jwt.verify", "JWT signature verification time");
+
+    // Nombres de los claims propios del servicio
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String PERMISSIONS_CLAIM = "perm";
+
     /**
-     * Obtienen valores desde application.properties para definir la clave secreta y 
+     * Obtienen valores desde application.properties para definir la clave secreta y
         el tiempo de expiración del token.
     */
-    @Value("${jwt.secret}")
+    @Value("${jwt.secret:}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
 
-    // Almacenará la clave secreta para firmar el token JWT
-    // Se utiliza un objeto Key para representar la clave secreta de forma segura
-    private Key secretKey;
+    // Número máximo de tokens verificados que se mantienen en caché
+    @Value("${jwt.cache.max-size:10000}")
+    private Long cacheMaxSize;
+
+    // Algoritmo de firma de los nuevos tokens: HS256 o ES256
+    @Value("${jwt.signing.algorithm:HS256}")
+    private String signingAlgorithm = "HS256";
+
+    // Ficheros PEM de la clave EC (solo ES256); si faltan se genera una clave efímera
+    @Value("${jwt.signing.private-key:}")
+    private String privateKeyPath = "";
+
+    @Value("${jwt.signing.public-key:}")
+    private String publicKeyPath = "";
+
+    // Almacén PKCS#12 con las claves rotables; vacío = claves fijas de la configuración
+    @Value("${jwt.keystore.location:}")
+    private String keystoreLocation = "";
+
+    @Value("${jwt.keystore.password:}")
+    private String keystorePassword = "";
+
+    // Antigüedad mínima de una clave nueva antes de firmar con ella (>= caché del JWKS en clientes)
+    @Value("${jwt.keystore.activation-delay:300000}")
+    private Long activationDelay = 300_000L;
+
+    // Anillo de claves: activa + retiradas. Se sustituye entero en cada rotación
+    private volatile KeyRing keyRing;
+
+    // Claves que se conservan siempre para verificar (el secreto jwt.secret, si existe)
+    private List<SigningKey> permanentKeys;
+
+    // Clave HS256 para tokens emitidos sin cabecera "kid" (anteriores a este cambio)
+    private Key legacyKey;
+
+    // Origen de las claves rotables y última versión cargada del fichero
+    private KeyStoreKeySource keySource;
+    private FileTime keystoreVersion;
+    private List<KeyRing.StoredKey> storedKeys;
+
+    // Codificador HS256 propio para la clave activa (jwt.fast-codec.enabled); jjwt queda como respaldo
+    @Value("${jwt.fast-codec.enabled:true}")
+    private boolean fastCodecEnabled = true;
+
+    private volatile Hs256TokenCodec fastCodec;
+
+    // Parser construido una única vez; es inmutable y seguro entre hilos
+    private JwtParser jwtParser;
+
+    // Caché de claims ya verificados, indexada por el hash del token
+    private VerifiedClaimsCache claimsCache;
 
     @PostConstruct  // Método que se ejecuta después de la construcción del bean
-    // Se utiliza para inicializar la clave secreta a partir de la propiedad jwtSecret
+    // Se utiliza para inicializar las claves de firma a partir de la configuración
     public void init() {
-        // Inicializa la clave secreta para firmar el token JWT
-        this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        boolean hasSecret = jwtSecret != null && !jwtSecret.isBlank();
+        SigningKey hmacKey = hasSecret ? SigningKey.hmac(jwtSecret) : null;
+        // El secreto, si existe, sigue verificando los tokens HS256 ya emitidos durante la migración
+        this.permanentKeys = hmacKey != null ? List.of(hmacKey) : List.of();
+        this.legacyKey = hmacKey != null ? hmacKey.verificationKey() : null;
+
+        if (!keystoreLocation.isBlank()) {
+            this.keySource = new KeyStoreKeySource(keystoreLocation, keystorePassword);
+            this.keyRing = KeyRing.empty();
+            rotateKeys();
+        } else if ("ES256".equalsIgnoreCase(signingAlgorithm)) {
+            this.keyRing = KeyRing.of(SigningKey.ec(loadEcKeyPair()), permanentKeys);
+        } else if ("HS256".equalsIgnoreCase(signingAlgorithm)) {
+            if (hmacKey == null) {
+                throw new IllegalStateException("jwt.secret is required for HS256 signing");
+            }
+            this.keyRing = KeyRing.of(hmacKey, List.of());
+        } else {
+            throw new IllegalStateException("Unsupported jwt.signing.algorithm: " + signingAlgorithm);
+        }
+
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KidResolver()) // Selecciona la clave de verificación por "kid"
+                .build();
+        this.claimsCache = new VerifiedClaimsCache(cacheMaxSize);
     }
 
+    /**
+     * Rotación programada: recarga el almacén si el fichero ha cambiado y recalcula el anillo
+     * (la clave activa puede cambiar solo por el paso del tiempo, al cumplirse activation-delay).
+     * El nuevo anillo se publica con una única escritura volatile; no bloquea las verificaciones.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keystore.refresh-interval:60000}")
+    public synchronized void rotateKeys() {
+        if (keySource == null) {
+            return; // Claves fijas: no hay nada que rotar
+        }
+        try {
+            FileTime modified = keySource.lastModified();
+            if (!modified.equals(keystoreVersion)) {
+                this.storedKeys = keySource.load();
+                this.keystoreVersion = modified;
+            }
+        } catch (IOException | IllegalStateException ex) {
+            if (storedKeys == null) {
+                throw new IllegalStateException("Unable to load JWT key store", ex);
+            }
+            // Un fallo puntual de lectura no debe dejar al servicio sin claves
+            log.error("JWT key store reload failed, keeping current keys", ex);
+        }
+
+        KeyRing current = keyRing;
+        KeyRing next = current.rotate(storedKeys, permanentKeys, Instant.now(),
+                Duration.ofMillis(activationDelay), Duration.ofMillis(jwtExpiration));
+        if (current.active() == null || !current.active().kid().equals(next.active().kid())) {
+            log.info("JWT signing key is now '{}' ({} verification keys)", next.active().kid(), next.size());
+        }
+        this.keyRing = next;
+    }
 
-    public String generateToken(String username) 
+    private KeyPair loadEcKeyPair() {
+        if (privateKeyPath.isBlank() || publicKeyPath.isBlank()) {
+            log.warn("jwt.signing.private-key/public-key not set: using an ephemeral ES256 key. "
+                    + "Tokens will not survive a restart nor validate across instances.");
+            return PemKeys.generateEcKeyPair();
+        }
+        return PemKeys.readEcKeyPair(privateKeyPath, publicKeyPath);
+    }
+
+
+    /**
+     * Genera un token firmado con todo lo necesario para autenticar peticiones
+     * sin consultar la base de datos: usuario, id, nombres de rol y máscara de permisos.
+     *
+     * @param username nombre de usuario (sujeto del token).
+     * @param userId identificador del usuario.
+     * @param roles nombres de los roles del usuario.
+     * @return token JWT compacto.
+     */
+    public String generateToken(String username, Long userId, Collection<String> roles)
     {
         Date now = new Date();
         Date experyDate = new Date(now.getTime() + jwtExpiration);
+        SigningKey activeKey = keyRing.active(); // Lectura única: la rotación puede cambiarla
+
+        // Camino rápido HS256: mismos bytes que jjwt (fechas en segundos, como las serializa jjwt)
+        long permissions = roles != null ? RolePermissions.of(roles) : 0L;
+        Hs256TokenCodec codec = userId != null && roles != null ? codecFor(activeKey) : null;
+        if (codec != null) {
+            return SIGN_TIMER.record(() -> codec.encode(UUID.randomUUID(), username, userId, roles, permissions,
+                    now.getTime() / 1000, experyDate.getTime() / 1000));
+        }
 
         // Crea un token JWT utilizando la clave secreta y la fecha de expiración
-        return Jwts.builder()
+        return SIGN_TIMER.record(() -> Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, activeKey.kid()) // Identifica la clave de firma
+                .setId(UUID.randomUUID().toString()) // Identificador único (jti) para poder revocarlo
                 .setSubject(username) // Establece el nombre de usuario como sujeto del token
-                .setIssuedAt(experyDate) // Establece la fecha de emisión del token
+                .claim(USER_ID_CLAIM, userId) // Identificador del usuario
+                .claim(ROLES_CLAIM, roles) // Nombres de los roles del usuario
+                .claim(PERMISSIONS_CLAIM, permissions) // Unión de los permisos de sus roles
+                .setIssuedAt(now) // Establece la fecha de emisión del token
                 .setExpiration(experyDate) // Establece la fecha de expiración del token
-                .signWith(secretKey, SignatureAlgorithm.HS256) // Firma el token con la clave secreta y el algoritmo HS256
-                .compact(); // Genera el token JWT como una cadena compacta
+                .signWith(activeKey.signingKey(), activeKey.algorithm()) // Firma el token con la clave activa (HS256 o ES256)
+                .compact()); // Genera el token JWT como una cadena compacta
+    }
+
+    /**
+     * Parsea el token, verifica su firma y expiración y devuelve sus claims.
+     * Los tokens ya verificados se sirven desde caché hasta su expiración.
+     *
+     * @param token token JWT compacto.
+     * @return claims verificados del token.
+     * @throws JwtException si la firma no es válida o el token ha expirado.
+     * @throws IllegalArgumentException si el token es nulo o vacío.
+     */
+    public TokenClaims parseAndVerify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT token is empty");
+        }
+        return claimsCache.get(token, this::verify);
     }
 
     public String getUserNameFromToken(String token) {
-        // Extrae el nombre de usuario del token JWT utilizando la clave secreta
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey) // Establece la clave secreta para verificar la firma del token
-                .build()
-                .parseClaimsJws(token) // Analiza el token y verifica su firma
-                .getBody() // Obtiene el cuerpo del token (claims)
-                .getSubject(); // Devuelve el nombre de usuario (sujeto) del token
+        // Extrae el nombre de usuario (sujeto) de los claims verificados
+        return parseAndVerify(token).subject();
     }
 
     public boolean validateToken(String token) {
         try {
-            // Verifica la firma del token JWT utilizando la clave secreta
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey) // Establece la clave secreta para verificar la firma del token
-                    .build()
-                    .parseClaimsJws(token); // Analiza el token y verifica su firma
+            parseAndVerify(token); // Analiza el token y verifica su firma
             return true; // Si no se lanza ninguna excepción, el token es válido
         } catch (JwtException | IllegalArgumentException ex) {
             return false; // Si se lanza una excepción, el token no es válido
         }
     }
 
+    /**
+     * Documento JWKS con las claves públicas de verificación.
+     * En modo HS256 está vacío: el secreto compartido nunca se publica.
+     */
+    public JwkSet getJwkSet() {
+        return keyRing.jwkSet();
+    }
+
+    // Verificación completa (parseo + firma) sin pasar por la caché
+    private TokenClaims verify(String token) {
+        return VERIFY_TIMER.record(() -> {
+            Hs256TokenCodec codec = codecFor(keyRing.active());
+            TokenClaims claims = codec != null ? codec.decode(token, Instant.now()) : null;
+            // Cualquier token que el codificador propio no acepta pasa por jjwt y sus excepciones
+            return claims != null ? claims : verifyWithJjwt(token);
+        });
+    }
+
+    private TokenClaims verifyWithJjwt(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        List<String> roleNames = roles != null ? roles.stream().map(String::valueOf).toList() : List.of();
+        Number permissions = claims.get(PERMISSIONS_CLAIM, Number.class);
+        return new TokenClaims(
+                claims.getId(),
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                roleNames,
+                // Tokens anteriores al claim "perm": se deriva de los roles
+                permissions != null ? permissions.longValue() : RolePermissions.of(roleNames),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    // Codificador de la clave activa si es HS256; se recrea cuando la rotación cambia de clave
+    private Hs256TokenCodec codecFor(SigningKey key) {
+        if (!fastCodecEnabled || key.algorithm() != SignatureAlgorithm.HS256) {
+            return null;
+        }
+        Hs256TokenCodec codec = fastCodec;
+        if (codec == null || !codec.kid().equals(key.kid())) {
+            codec = new Hs256TokenCodec(key);
+            this.fastCodec = codec;
+        }
+        return codec;
+    }
+
+    /**
+     * Resuelve la clave de verificación a partir de la cabecera "kid".
+     * Los tokens sin "kid" solo se aceptan con la clave HS256 heredada.
+     */
+    private final class KidResolver extends SigningKeyResolverAdapter {
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String kid = header.getKeyId();
+            if (kid == null) {
+                if (legacyKey == null) {
+                    throw new SignatureException("JWT without kid is not accepted");
+                }
+                return legacyKey;
+            }
+            SigningKey key = keyRing.find(kid); // Búsqueda O(1) en el anillo vigente
+            if (key == null) {
+                throw new SignatureException("Unknown JWT kid: " + kid);
+            }
+            return key.verificationKey();
+        }
+    }
 
 }
@@ -0,0 +1,85 @@
+package com.tfg.authservice.auth.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * BCryptPasswordEncoder con un coste objetivo calibrado para el hardware en el que se ejecuta.
+ *
+ * A diferencia de BCryptPasswordEncoder, "upgradeEncoding" indica que hay que rehashear
+ * siempre que el coste guardado sea distinto del objetivo (mayor o menor), de modo que al
+ * cambiar el tamaño de los nodos el coste de los hashes se reequilibra en el siguiente login.
+ */
+@Slf4j
+public class TargetCostBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    // Un hash BCrypt tiene la forma $2a$12$...: el coste son los dos dígitos tras el segundo '$'
+    private static final int COST_OFFSET = 4;
+
+    private final int strength;
+
+    public TargetCostBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Coste con el que se generan los nuevos hashes.
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < COST_OFFSET + 2) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(COST_OFFSET, COST_OFFSET + 2)) != strength;
+        } catch (NumberFormatException ex) {
+            return false; // No es un hash BCrypt reconocible
+        }
+    }
+
+    /**
+     * Elige el mayor coste cuyo hash tarda como mucho {@code target} en este equipo.
+     *
+     * Mide el coste de referencia (mediana de varias muestras tras calentar) y extrapola:
+     * cada punto de coste duplica el tiempo de BCrypt.
+     *
+     * @param target latencia objetivo de un hash.
+     * @param minStrength coste mínimo admitido (límite de seguridad).
+     * @param maxStrength coste máximo admitido.
+     * @return coste calibrado dentro de [minStrength, maxStrength].
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        final int reference = 8;
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(reference);
+        encoder.encode("calibration-warmup");
+
+        long[] samples = new long[5];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-sample");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long referenceNanos = Math.max(1, samples[samples.length / 2]);
+
+        int strength = reference;
+        long estimate = referenceNanos;
+        while (strength < maxStrength && estimate * 2 <= target.toNanos()) {
+            strength++;
+            estimate *= 2;
+        }
+        int chosen = Math.max(minStrength, Math.min(maxStrength, strength));
+        log.info("BCrypt calibrated to cost {} (~{} ms per hash, target {} ms)",
+                chosen, (referenceNanos << (chosen - reference)) / 1_000_000, target.toMillis());
+        return chosen;
+    }
+}
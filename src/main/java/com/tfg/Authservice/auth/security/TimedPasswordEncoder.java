@@ -0,0 +1,38 @@
+package com.tfg.authservice.auth.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.tfg.authservice.util.AuthMetrics;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * PasswordEncoder que mide el tiempo de cada hash y comprobación (auth.password.encode / matches).
+ * Sirve para ver si BCrypt es el cuello de botella y para validar la calibración del coste.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private static final Timer ENCODE_TIMER = AuthMetrics.timer("auth.password.encode", "BCrypt hash time");
+    private static final Timer MATCHES_TIMER = AuthMetrics.timer("auth.password.matches", "BCrypt verification time");
+
+    private final PasswordEncoder delegate;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return ENCODE_TIMER.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return MATCHES_TIMER.record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
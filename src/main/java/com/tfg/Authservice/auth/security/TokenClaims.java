@@ -0,0 +1,25 @@
+package com.tfg.authservice.auth.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims de un token JWT cuya firma ya ha sido verificada.
+ *
+ * Es inmutable, por lo que puede compartirse entre hilos y guardarse en la caché
+ * de claims verificados sin copias defensivas.
+ *
+ * @param jti identificador único del token (claim "jti"), usado para revocarlo
+ * @param subject nombre de usuario (claim "sub")
+ * @param userId identificador del usuario (claim "uid")
+ * @param roles nombres de los roles del usuario (claim "roles")
+ * @param permissions máscara de permisos (claim "perm", ver Permission)
+ * @param issuedAt fecha de emisión (claim "iat")
+ * @param expiration fecha de expiración (claim "exp")
+ */
+public record TokenClaims(String jti, String subject, Long userId, List<String> roles, long permissions, Instant issuedAt, Instant expiration) {
+
+    public TokenClaims {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+}
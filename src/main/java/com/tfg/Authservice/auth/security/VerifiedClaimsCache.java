@@ -0,0 +1,106 @@
+package com.tfg.authservice.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Caché acotada de claims ya verificados, indexada por el hash SHA-256 del token.
+ *
+ * Evita repetir el parseo y la verificación HMAC cuando el mismo token llega muchas veces
+ * (por ejemplo desde un gateway). Cada entrada expira como muy tarde en el "exp" del token,
+ * de modo que un token caducado nunca se sirve desde la caché.
+ * Solo se guardan tokens válidos: los inválidos siempre pasan por la verificación completa.
+ */
+public class VerifiedClaimsCache {
+
+    private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final Cache<String, TokenClaims> cache;
+
+    /**
+     * @param maximumSize número máximo de tokens cacheados.
+     */
+    public VerifiedClaimsCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiration())
+                .build();
+    }
+
+    /**
+     * Devuelve los claims cacheados del token o los calcula con {@code verifier}.
+     * Si el verificador lanza una excepción, no se guarda nada.
+     *
+     * @param token token JWT compacto.
+     * @param verifier función que parsea y verifica el token.
+     * @return claims verificados.
+     */
+    public TokenClaims get(String token, Function<String, TokenClaims> verifier) {
+        String key = digest(token);
+        TokenClaims cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        TokenClaims claims = verifier.apply(token);
+        // Solo se cachean tokens con expiración; sin "exp" no hay cota de vida segura
+        if (claims.expiration() != null) {
+            cache.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Elimina todas las entradas cacheadas.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Número aproximado de entradas en la caché.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // El hash evita retener el token completo en memoria como clave
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return KEY_ENCODER.encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Política de expiración: cada entrada vive hasta el "exp" de su token.
+     */
+    private static final class UntilTokenExpiration implements Expiry<String, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+            long millis = claims.expiration().toEpochMilli() - Instant.now().toEpochMilli();
+            return Math.max(0L, millis) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.tfg.authservice.auth.security.key;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Documento JWKS (RFC 7517) ya serializado.
+ *
+ * Se construye una sola vez cuando cambian las claves; el endpoint solo copia los bytes
+ * y responde con un ETag fuerte calculado sobre ellos. Las claves simétricas nunca se publican.
+ */
+public final class JwkSet {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Tamaño en bytes de cada coordenada de una clave P-256
+    private static final int P256_COORDINATE_LENGTH = 32;
+
+    private final byte[] json;
+    private final String etag;
+
+    private JwkSet(byte[] json) {
+        this.json = json;
+        this.etag = "\"" + BASE64URL.encodeToString(sha256(json)) + "\"";
+    }
+
+    /**
+     * Serializa las claves públicas publicables del conjunto recibido.
+     *
+     * @param keys claves de firma activas y retiradas.
+     * @return documento JWKS listo para servir.
+     */
+    public static JwkSet of(Collection<SigningKey> keys) {
+        List<Map<String, String>> jwks = new ArrayList<>();
+        // Orden estable por kid: el mismo conjunto de claves produce siempre el mismo ETag
+        List<SigningKey> sorted = keys.stream().sorted(Comparator.comparing(SigningKey::kid)).toList();
+        for (SigningKey key : sorted) {
+            if (key.isPublishable()) {
+                jwks.add(toJwk(key));
+            }
+        }
+        try {
+            return new JwkSet(MAPPER.writeValueAsBytes(Map.of("keys", jwks)));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize JWKS", ex);
+        }
+    }
+
+    /**
+     * Bytes JSON del documento. No deben modificarse.
+     */
+    public byte[] json() {
+        return json;
+    }
+
+    /**
+     * ETag fuerte (entre comillas) del documento.
+     */
+    public String etag() {
+        return etag;
+    }
+
+    private static Map<String, String> toJwk(SigningKey key) {
+        ECPublicKey publicKey = (ECPublicKey) key.verificationKey();
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.algorithm().getValue());
+        jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+        return jwk;
+    }
+
+    // Coordenada en big-endian sin signo y con longitud fija, codificada en base64url
+    static String coordinate(BigInteger value) {
+        byte[] raw = value.toByteArray();
+        byte[] fixed = new byte[P256_COORDINATE_LENGTH];
+        int length = Math.min(raw.length, P256_COORDINATE_LENGTH);
+        System.arraycopy(raw, raw.length - length, fixed, P256_COORDINATE_LENGTH - length, length);
+        return BASE64URL.encodeToString(fixed);
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.tfg.authservice.auth.security.key;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Anillo inmutable de claves de firma: una clave activa para firmar y el resto
+ * (incluidas las retiradas) solo para verificar, indexadas por kid para búsqueda O(1).
+ *
+ * La rotación no modifica el anillo: construye uno nuevo que JwtProvider publica
+ * de forma atómica, por lo que las verificaciones en curso nunca ven un estado intermedio.
+ * Una clave que desaparece del almacén se conserva durante el tiempo de vida de los tokens,
+ * así los tokens ya emitidos siguen siendo válidos y no hay oleada de logins tras rotar.
+ */
+public final class KeyRing {
+
+    /**
+     * Clave leída del almacén junto con su fecha de creación.
+     */
+    public record StoredKey(SigningKey key, Instant createdAt) {
+    }
+
+    private final SigningKey active;
+    private final Map<String, SigningKey> keysByKid;
+    private final Map<String, Instant> retiredUntil;
+    private final JwkSet jwkSet;
+
+    private KeyRing(SigningKey active, Map<String, SigningKey> keysByKid, Map<String, Instant> retiredUntil) {
+        this.active = active;
+        this.keysByKid = Map.copyOf(keysByKid);
+        this.retiredUntil = Map.copyOf(retiredUntil);
+        this.jwkSet = JwkSet.of(this.keysByKid.values());
+    }
+
+    /**
+     * Anillo fijo con una clave activa y claves adicionales solo de verificación.
+     */
+    public static KeyRing of(SigningKey active, Collection<SigningKey> verificationKeys) {
+        Map<String, SigningKey> keys = new HashMap<>();
+        verificationKeys.forEach(key -> keys.put(key.kid(), key));
+        keys.put(active.kid(), active);
+        return new KeyRing(active, keys, Map.of());
+    }
+
+    /**
+     * Calcula el siguiente anillo a partir del contenido actual del almacén.
+     *
+     * La clave activa es la más reciente con antigüedad mayor o igual que {@code activationDelay}:
+     * así su parte pública ya lleva ese tiempo en el JWKS antes de firmar con ella.
+     * Si ninguna cumple (arranque con claves nuevas) se usa la más antigua.
+     *
+     * @param stored claves presentes en el almacén.
+     * @param permanent claves que siempre se conservan para verificación (p. ej. el secreto heredado).
+     * @param now instante actual.
+     * @param activationDelay antigüedad mínima para empezar a firmar con una clave.
+     * @param retention tiempo que se conserva una clave retirada (vida máxima de un token).
+     * @return nuevo anillo.
+     */
+    public KeyRing rotate(List<StoredKey> stored, Collection<SigningKey> permanent,
+            Instant now, Duration activationDelay, Duration retention) {
+        if (stored.isEmpty()) {
+            throw new IllegalStateException("Key store contains no signing keys");
+        }
+
+        Instant activationLimit = now.minus(activationDelay);
+        SigningKey nextActive = stored.stream()
+                .filter(candidate -> !candidate.createdAt().isAfter(activationLimit))
+                .max(Comparator.comparing(StoredKey::createdAt))
+                .or(() -> stored.stream().min(Comparator.comparing(StoredKey::createdAt)))
+                .map(StoredKey::key)
+                .orElseThrow();
+
+        Map<String, SigningKey> keys = new HashMap<>();
+        permanent.forEach(key -> keys.put(key.kid(), key));
+        stored.forEach(candidate -> keys.put(candidate.key().kid(), candidate.key()));
+
+        // Las claves que ya no están en el almacén se mantienen hasta que caduquen sus tokens
+        Map<String, Instant> retired = new HashMap<>();
+        keysByKid.forEach((kid, key) -> {
+            if (!keys.containsKey(kid)) {
+                Instant until = retiredUntil.getOrDefault(kid, now.plus(retention));
+                if (until.isAfter(now)) {
+                    keys.put(kid, key);
+                    retired.put(kid, until);
+                }
+            }
+        });
+
+        return new KeyRing(nextActive, keys, retired);
+    }
+
+    /**
+     * Anillo vacío, punto de partida de la primera rotación.
+     */
+    public static KeyRing empty() {
+        return new KeyRing(null, Map.of(), Map.of());
+    }
+
+    /**
+     * Clave con la que se firman los nuevos tokens.
+     */
+    public SigningKey active() {
+        return active;
+    }
+
+    /**
+     * Clave de verificación con ese kid, o null si no pertenece al anillo.
+     */
+    public SigningKey find(String kid) {
+        return keysByKid.get(kid);
+    }
+
+    /**
+     * Número de claves de verificación (activa + retiradas).
+     */
+    public int size() {
+        return keysByKid.size();
+    }
+
+    /**
+     * Documento JWKS con las claves públicas del anillo.
+     */
+    public JwkSet jwkSet() {
+        return jwkSet;
+    }
+}
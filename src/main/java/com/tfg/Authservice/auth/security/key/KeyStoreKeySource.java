@@ -0,0 +1,83 @@
+package com.tfg.authservice.auth.security.key;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Lee las claves de firma de un almacén PKCS#12 local. El alias de cada entrada es su kid.
+ *
+ * Tipos admitidos:
+ *   Clave secreta HMAC  -> HS256
+ *     keytool -genseckey -alias k-2025-05 -keyalg HmacSHA256 -keysize 256 -storetype PKCS12 -keystore jwt-keys.p12
+ *   Par de claves EC P-256 -> ES256
+ *     keytool -genkeypair -alias k-2025-05 -keyalg EC -groupname secp256r1 -storetype PKCS12 -keystore jwt-keys.p12
+ *
+ * Para rotar basta con añadir una entrada nueva al fichero; retirar una clave es borrarla.
+ */
+public class KeyStoreKeySource {
+
+    private final Path location;
+    private final char[] password;
+
+    public KeyStoreKeySource(String location, String password) {
+        this.location = Path.of(location);
+        this.password = password.toCharArray();
+    }
+
+    /**
+     * Fecha de última modificación del fichero, para recargar solo cuando cambia.
+     */
+    public FileTime lastModified() throws IOException {
+        return Files.getLastModifiedTime(location);
+    }
+
+    /**
+     * Carga todas las claves de firma del almacén.
+     */
+    public List<KeyRing.StoredKey> load() {
+        try (InputStream in = Files.newInputStream(location)) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, password);
+
+            List<KeyRing.StoredKey> keys = new ArrayList<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                SigningKey key = toSigningKey(keyStore, alias);
+                if (key != null) {
+                    keys.add(new KeyRing.StoredKey(key, keyStore.getCreationDate(alias).toInstant()));
+                }
+            }
+            return keys;
+        } catch (IOException | GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to load JWT key store " + location, ex);
+        }
+    }
+
+    private SigningKey toSigningKey(KeyStore keyStore, String alias) throws GeneralSecurityException {
+        if (keyStore.isKeyEntry(alias)) {
+            Key key = keyStore.getKey(alias, password);
+            if (key instanceof SecretKey secret) {
+                return new SigningKey(alias, SignatureAlgorithm.HS256, secret, secret);
+            }
+            if (key instanceof ECPrivateKey privateKey
+                    && keyStore.getCertificate(alias).getPublicKey() instanceof ECPublicKey publicKey) {
+                return new SigningKey(alias, SignatureAlgorithm.ES256, privateKey, publicKey);
+            }
+        }
+        return null; // Certificados de confianza u otros tipos de clave se ignoran
+    }
+}
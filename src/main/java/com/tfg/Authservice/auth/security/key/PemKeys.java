@@ -0,0 +1,63 @@
+package com.tfg.authservice.auth.security.key;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Utilidades para cargar y generar pares de claves EC P-256.
+ *
+ * Los ficheros PEM se generan, por ejemplo, con:
+ *   openssl ecparam -name prime256v1 -genkey -noout | openssl pkcs8 -topk8 -nocrypt -out jwt-private.pem
+ *   openssl ec -in jwt-private.pem -pubout -out jwt-public.pem
+ */
+public final class PemKeys {
+
+    private PemKeys() {
+    }
+
+    /**
+     * Carga un par de claves EC desde una privada PKCS#8 y una pública X.509 en formato PEM.
+     */
+    public static KeyPair readEcKeyPair(String privateKeyPath, String publicKeyPath) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(decode(privateKeyPath)));
+            PublicKey publicKey = factory.generatePublic(new X509EncodedKeySpec(decode(publicKeyPath)));
+            return new KeyPair(publicKey, privateKey);
+        } catch (IOException | GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to load EC key pair from " + privateKeyPath, ex);
+        }
+    }
+
+    /**
+     * Genera un par de claves EC P-256 en memoria.
+     */
+    public static KeyPair generateEcKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to generate EC key pair", ex);
+        }
+    }
+
+    // Elimina las líneas "-----BEGIN/END ...-----" y decodifica el contenido base64
+    private static byte[] decode(String path) throws IOException {
+        String pem = Files.readString(Path.of(path))
+                .replaceAll("-----[A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(pem);
+    }
+}
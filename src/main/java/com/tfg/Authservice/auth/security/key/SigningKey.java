@@ -0,0 +1,71 @@
+package com.tfg.authservice.auth.security.key;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Clave de firma de tokens identificada por su "kid".
+ *
+ * Para HS256 la clave de firma y la de verificación son la misma (secreto compartido).
+ * Para ES256 se firma con la privada y se verifica con la pública, que es la única
+ * que se publica en el JWKS.
+ *
+ * @param kid identificador de la clave (cabecera "kid" del token)
+ * @param algorithm algoritmo de firma
+ * @param signingKey clave con la que se firma
+ * @param verificationKey clave con la que se verifica
+ */
+public record SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Clave HS256 a partir de un secreto compartido.
+     * El kid se deriva de un hash del secreto, nunca del secreto en sí.
+     */
+    public static SigningKey hmac(String secret) {
+        Key key = Keys.hmacShaKeyFor(secret.getBytes());
+        String kid = "hs-" + BASE64URL.encodeToString(Arrays.copyOf(sha256(secret.getBytes()), 8));
+        return new SigningKey(kid, SignatureAlgorithm.HS256, key, key);
+    }
+
+    /**
+     * Clave ES256 a partir de un par de claves EC P-256.
+     * El kid es el thumbprint JWK de la clave pública (RFC 7638).
+     */
+    public static SigningKey ec(KeyPair keyPair) {
+        ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+        return new SigningKey(thumbprint(publicKey), SignatureAlgorithm.ES256, keyPair.getPrivate(), publicKey);
+    }
+
+    /**
+     * Indica si la clave de verificación puede publicarse (solo claves asimétricas).
+     */
+    public boolean isPublishable() {
+        return verificationKey instanceof ECPublicKey;
+    }
+
+    // RFC 7638: SHA-256 de los miembros obligatorios del JWK en orden lexicográfico
+    static String thumbprint(ECPublicKey publicKey) {
+        String canonical = "{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\"" + JwkSet.coordinate(publicKey.getW().getAffineX())
+                + "\",\"y\":\"" + JwkSet.coordinate(publicKey.getW().getAffineY()) + "\"}";
+        return BASE64URL.encodeToString(sha256(canonical.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
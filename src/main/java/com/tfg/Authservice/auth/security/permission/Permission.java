@@ -0,0 +1,34 @@
+package com.tfg.authservice.auth.security.permission;
+
+/**
+ * Permisos del sistema. Cada uno ocupa un bit fijo del claim "perm" del token.
+ *
+ * El bit es explícito y no depende del orden de declaración: los tokens ya emitidos
+ * siguen significando lo mismo aunque se añadan permisos. No reutilizar bits retirados.
+ */
+public enum Permission {
+
+    USER_READ(0),
+    USER_WRITE(1),
+    USER_IMPORT(2),
+    TOKEN_REVOKE(3),
+    TOKEN_INTROSPECT(4),
+    PROJECT_READ(5),
+    PROJECT_WRITE(6),
+    TASK_READ(7),
+    TASK_WRITE(8),
+    TASK_ASSIGN(9);
+
+    private final long mask;
+
+    Permission(int bit) {
+        this.mask = 1L << bit;
+    }
+
+    /**
+     * Máscara con solo el bit de este permiso.
+     */
+    public long mask() {
+        return mask;
+    }
+}
@@ -0,0 +1,63 @@
+package com.tfg.authservice.auth.security.permission;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.tfg.authservice.auth.security.AuthenticatedUser;
+import com.tfg.authservice.exception.BusinessException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Aplica {@link RequiresPermission} antes de ejecutar cada endpoint.
+ *
+ * La máscara requerida de cada método se resuelve por reflexión una sola vez y se guarda;
+ * en cada petición solo queda un AND con la máscara del token.
+ */
+@Component
+public class PermissionInterceptor implements HandlerInterceptor {
+
+    private static final BusinessException AUTHENTICATION_REQUIRED = new BusinessException("Authentication required", HttpStatus.UNAUTHORIZED);
+    private static final BusinessException INSUFFICIENT_PERMISSIONS = new BusinessException("Insufficient permissions", HttpStatus.FORBIDDEN);
+
+    // 0 = el endpoint no exige permisos
+    private final Map<Method, Long> requiredMasks = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        long required = requiredMasks.computeIfAbsent(method.getMethod(), m -> requiredMask(method));
+        if (required == 0) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser)) {
+            throw AUTHENTICATION_REQUIRED;
+        }
+        if (!Permissions.hasAll(authentication, required)) {
+            throw INSUFFICIENT_PERMISSIONS;
+        }
+        return true;
+    }
+
+    private static long requiredMask(HandlerMethod method) {
+        RequiresPermission annotation = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), RequiresPermission.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), RequiresPermission.class);
+        }
+        return annotation != null ? Permissions.mask(annotation.value()) : 0L;
+    }
+}
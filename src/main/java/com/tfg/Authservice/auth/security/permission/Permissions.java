@@ -0,0 +1,61 @@
+package com.tfg.authservice.auth.security.permission;
+
+import java.util.function.Supplier;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import com.tfg.authservice.auth.security.AuthenticatedUser;
+
+/**
+ * API de autorización por permisos.
+ *
+ * Todas las comprobaciones se reducen a (permisos & requeridos) == requeridos sobre la máscara
+ * del token: sin comparar cadenas de roles ni acceder a la base de datos.
+ */
+public final class Permissions {
+
+    private Permissions() {
+    }
+
+    /**
+     * Máscara con todos los permisos indicados.
+     */
+    public static long mask(Permission... permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Indica si la autenticación tiene todos los permisos de la máscara.
+     * Las autenticaciones que no proceden de un token (anónimas, otras) no tienen ninguno.
+     */
+    public static boolean hasAll(Authentication authentication, long required) {
+        return authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && user.hasAll(required);
+    }
+
+    /**
+     * Igual que {@link #hasAll(Authentication, long)} para la petición en curso.
+     */
+    public static boolean currentUserHas(Permission... permissions) {
+        return hasAll(SecurityContextHolder.getContext().getAuthentication(), mask(permissions));
+    }
+
+    /**
+     * Regla para SecurityConfig: .requestMatchers(...).access(Permissions.require(...)).
+     * La máscara se calcula una vez al construir la cadena de filtros.
+     */
+    public static AuthorizationManager<RequestAuthorizationContext> require(Permission... permissions) {
+        long required = mask(permissions);
+        return (Supplier<Authentication> authentication, RequestAuthorizationContext context) ->
+                new AuthorizationDecision(hasAll(authentication.get(), required));
+    }
+}
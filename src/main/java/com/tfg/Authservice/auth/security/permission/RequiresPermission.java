@@ -0,0 +1,21 @@
+package com.tfg.authservice.auth.security.permission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exige todos los permisos indicados para ejecutar el endpoint (método o controlador completo).
+ *
+ * Lo aplica PermissionInterceptor con la máscara del token: 401 sin autenticación,
+ * 403 si falta algún permiso. La anotación del método prevalece sobre la de la clase.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface RequiresPermission {
+
+    Permission[] value();
+}
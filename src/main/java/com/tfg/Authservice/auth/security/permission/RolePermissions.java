@@ -0,0 +1,56 @@
+package com.tfg.authservice.auth.security.permission;
+
+import static com.tfg.authservice.auth.security.permission.Permission.*;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.tfg.authservice.auth.model.VO.Role.RoleName;
+
+/**
+ * Permisos de cada rol, precalculados como máscara de bits.
+ *
+ * La unión de las máscaras de los roles de un usuario viaja en el token (claim "perm"),
+ * así que los servicios deciden con un AND sin consultar usuarios ni roles.
+ */
+public final class RolePermissions {
+
+    private static final Map<RoleName, Long> MASKS = new EnumMap<>(RoleName.class);
+
+    static {
+        MASKS.put(RoleName.ROLE_ADMIN, Permissions.mask(Permission.values()));
+        MASKS.put(RoleName.ROLE_MANAGER, Permissions.mask(
+                USER_READ, PROJECT_READ, PROJECT_WRITE, TASK_READ, TASK_WRITE, TASK_ASSIGN));
+        MASKS.put(RoleName.ROLE_DEVELOPER, Permissions.mask(PROJECT_READ, TASK_READ, TASK_WRITE));
+        // Mínimo privilegio para el gateway que llama a /auth/introspect: no necesita un token de admin
+        MASKS.put(RoleName.ROLE_GATEWAY, Permissions.mask(TOKEN_INTROSPECT));
+    }
+
+    private RolePermissions() {
+    }
+
+    /**
+     * Máscara de un rol.
+     */
+    public static long of(RoleName role) {
+        return MASKS.getOrDefault(role, 0L);
+    }
+
+    /**
+     * Unión de las máscaras de los roles indicados por nombre (se ignoran los desconocidos).
+     * Solo se usa al emitir tokens, o al verificar tokens anteriores al claim "perm".
+     *
+     * @param roleNames nombres de rol, como en el claim "roles".
+     * @return máscara de permisos.
+     */
+    public static long of(Collection<String> roleNames) {
+        long mask = 0;
+        for (RoleName role : RoleName.values()) {
+            if (roleNames.contains(role.name())) {
+                mask |= MASKS.get(role);
+            }
+        }
+        return mask;
+    }
+}
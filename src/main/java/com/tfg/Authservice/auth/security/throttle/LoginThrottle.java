@@ -0,0 +1,174 @@
+package com.tfg.authservice.auth.security.throttle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tfg.authservice.auth.repository.LoginThrottleRepository;
+import com.tfg.authservice.exception.TooManyRequestsException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Limitador de intentos de login por cuenta y por IP.
+ *
+ * Se comprueba antes de cualquier consulta a la BD o trabajo de BCrypt, para que un ataque
+ * de credential stuffing no consuma la CPU que necesitan los usuarios legítimos.
+ *
+ * Cada clave (username o IP) tiene un token bucket sin bloqueos. Los buckets viven en cachés
+ * acotadas (auth.throttle.max-keys) que descartan las claves inactivas (auth.throttle.idle-timeout):
+ * un bucket olvidado equivale a uno lleno, que es su estado tras ese tiempo sin intentos.
+ *
+ * La IP es la del cliente solo si el gateway la reenvía en X-Forwarded-For y es un proxy de confianza
+ * (server.forward-headers-strategy, ver application.properties); si no, el límite por IP se
+ * desactiva con auth.throttle.ip.enabled=false.
+ *
+ * Con auth.throttle.shared=true, los intentos que pasan el filtro local se cuentan además en la
+ * tabla login_throttle por ventanas fijas, para que el límite se respete entre instancias.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginThrottle {
+
+    private static final String LIMIT_MESSAGE = "Too many login attempts";
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final LoginThrottleRepository throttleRepository;
+
+    @Value("${auth.throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.throttle.account.capacity:5}")
+    private int accountCapacity;
+
+    @Value("${auth.throttle.account.refill-per-minute:5}")
+    private int accountRefillPerMinute;
+
+    // Sin la IP real del cliente (gateway que no reenvía X-Forwarded-For) debe desactivarse
+    @Value("${auth.throttle.ip.enabled:true}")
+    private boolean ipEnabled = true;
+
+    @Value("${auth.throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${auth.throttle.ip.refill-per-minute:60}")
+    private int ipRefillPerMinute;
+
+    @Value("${auth.throttle.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${auth.throttle.idle-timeout:600000}")
+    private long idleTimeout;
+
+    @Value("${auth.throttle.shared:false}")
+    private boolean shared;
+
+    @Value("${auth.throttle.shared-window:60000}")
+    private long sharedWindow;
+
+    private Cache<String, TokenBucket> accountBuckets;
+    private Cache<String, TokenBucket> ipBuckets;
+
+    @PostConstruct
+    public void init() {
+        this.accountBuckets = newBucketCache();
+        this.ipBuckets = newBucketCache();
+    }
+
+
+    /**
+     * Registra un intento de login y lo rechaza si la IP o la cuenta han superado su límite.
+     *
+     * @param username Usuario con el que se intenta entrar (puede ser nulo).
+     * @param clientIp Dirección del cliente (puede ser nula).
+     * @throws TooManyRequestsException Si se supera alguno de los límites (429 con Retry-After).
+     */
+    public void check(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+
+        // Primero la IP: si está bloqueada no se gasta el cupo de la cuenta atacada
+        String ip = ipEnabled ? clientIp : null;
+        reject(consume(ipBuckets, ip, ipCapacity, ipRefillPerMinute, now));
+        reject(consume(accountBuckets, username, accountCapacity, accountRefillPerMinute, now));
+
+        if (shared) {
+            checkShared("ip:" + ip, ip, ipRefillPerMinute);
+            checkShared("user:" + username, username, accountRefillPerMinute);
+        }
+    }
+
+
+    /**
+     * Registra una petición pública sin cuenta (p. ej. /auth/availability) en el cupo de la IP.
+     * Comparte el bucket con el login: enumerar usuarios y probar contraseñas gastan el mismo límite.
+     *
+     * @param clientIp Dirección del cliente (puede ser nula).
+     * @throws TooManyRequestsException Si la IP ha superado su límite (429 con Retry-After).
+     */
+    public void checkIp(String clientIp) {
+        if (!enabled || !ipEnabled) {
+            return;
+        }
+        reject(consume(ipBuckets, clientIp, ipCapacity, ipRefillPerMinute, System.nanoTime()));
+        if (shared) {
+            checkShared("ip:" + clientIp, clientIp, ipRefillPerMinute);
+        }
+    }
+
+
+    /**
+     * Elimina los contadores compartidos de ventanas ya cerradas.
+     */
+    @Scheduled(fixedDelayString = "${auth.throttle.shared-purge-interval:600000}")
+    public void purgeShared() {
+        if (shared) {
+            throttleRepository.deleteByWindowStartBefore(Instant.now().minusMillis(sharedWindow));
+        }
+    }
+
+    private long consume(Cache<String, TokenBucket> buckets, String key, int capacity, int refillPerMinute, long now) {
+        if (key == null) {
+            return 0;
+        }
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, refillPerMinute / NANOS_PER_MINUTE, now));
+        return bucket.tryConsume(now);
+    }
+
+    // Límite compartido: el cupo por minuto escalado a la ventana configurada
+    private void checkShared(String key, String value, int refillPerMinute) {
+        if (value == null) {
+            return;
+        }
+        long nowMillis = System.currentTimeMillis();
+        long windowStart = nowMillis - nowMillis % sharedWindow;
+        long limit = Math.max(1, refillPerMinute * sharedWindow / TimeUnit.MINUTES.toMillis(1));
+
+        int attempts = throttleRepository.incrementAttempts(key, Instant.ofEpochMilli(windowStart));
+        if (attempts > limit) {
+            reject(TimeUnit.MILLISECONDS.toNanos(windowStart + sharedWindow - nowMillis));
+        }
+    }
+
+    private static void reject(long waitNanos) {
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException(LIMIT_MESSAGE, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+        }
+    }
+
+    private Cache<String, TokenBucket> newBucketCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(idleTimeout))
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.tfg.authservice.auth.security.throttle;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket sin bloqueos.
+ *
+ * El estado (tokens disponibles y último repostaje) es inmutable y se sustituye con CAS,
+ * así que varios hilos pueden consumir del mismo bucket sin locks. El repostaje se calcula
+ * de forma perezosa al consumir: no hay ningún hilo rellenando buckets.
+ */
+final class TokenBucket {
+
+    private record State(double tokens, long refilledAt) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    /**
+     * @param capacity ráfaga máxima permitida.
+     * @param tokensPerNano ritmo de repostaje.
+     * @param now instante actual (System.nanoTime()).
+     */
+    TokenBucket(double capacity, double tokensPerNano, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerNano;
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    /**
+     * Intenta consumir un token.
+     *
+     * @param now instante actual (System.nanoTime()).
+     * @return 0 si se ha consumido; si no, nanosegundos hasta que haya un token disponible.
+     */
+    long tryConsume(long now) {
+        while (true) {
+            State current = state.get();
+            double available = Math.min(capacity, current.tokens() + Math.max(0, now - current.refilledAt()) * tokensPerNano);
+            if (available < 1) {
+                return (long) Math.ceil((1 - available) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(available - 1, Math.max(now, current.refilledAt())))) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,22 +1,31 @@
 package com.tfg.authservice.auth.service;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.tfg.authservice.auth.dto.AuthResponse;
 import com.tfg.authservice.auth.dto.LoginRequest;
+import com.tfg.authservice.auth.dto.RefreshRequest;
 import com.tfg.authservice.auth.dto.RegisterRequest;
-import com.tfg.authservice.auth.model.VO.Role;
 import com.tfg.authservice.auth.model.VO.Role.RoleName;
 import com.tfg.authservice.auth.model.VO.User;
-import com.tfg.authservice.auth.repository.RoleRepository;
+import com.tfg.authservice.auth.model.VO.UserCredentials;
 import com.tfg.authservice.auth.repository.UserRepository;
 import com.tfg.authservice.auth.security.JwtProvider;
+import com.tfg.authservice.auth.security.TokenClaims;
+import com.tfg.authservice.exception.BusinessException;
 import com.tfg.authservice.exception.CustomException;
+import com.tfg.authservice.util.AuthMetrics;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -29,51 +38,59 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AuthService {
 
+    private static final Timer REGISTER_TIMER = AuthMetrics.timer("auth.register", "AuthService.register time");
+    private static final Timer LOGIN_TIMER = AuthMetrics.timer("auth.login", "AuthService.login time");
+
+    // Errores esperados: instancias únicas sin traza, con el cuerpo de la respuesta ya serializado
+    private static final BusinessException INVALID_CREDENTIALS = new BusinessException("Invalid username or password", HttpStatus.UNAUTHORIZED);
+    private static final BusinessException USERNAME_TAKEN = new BusinessException("Username is already taken", HttpStatus.CONFLICT);
+    private static final BusinessException EMAIL_IN_USE = new BusinessException("Email is already in use", HttpStatus.CONFLICT);
+    private static final BusinessException INVALID_TOKEN = new BusinessException("Invalid token", HttpStatus.UNAUTHORIZED);
+    private static final BusinessException TOKEN_NOT_REVOCABLE = new BusinessException("Token cannot be revoked", HttpStatus.BAD_REQUEST);
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
     private final JwtProvider jwtProvider;
-
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final AvailabilityService availabilityService;
 
     
     /**
      * Registra un nuevo usuario en el sistema.
      * 
-     * Verifica la disponibilidad del nombre de usuario y correo electrónico,
-     * asigna un rol por defecto y almacena la información en la base de datos.
+     * Inserta directamente el usuario con el rol por defecto (resuelto en memoria): la disponibilidad
+     * del nombre de usuario y del correo la garantizan las restricciones únicas de la tabla users,
+     * lo que evita consultas previas y la carrera entre dos registros simultáneos.
      *
      * @param request Datos de registro del usuario.
-     * @return AuthResponse con el token generado y la información del usuario.
+     * @return AuthResponse con el token generado, el refresh token y la información del usuario.
      * @throws CustomException Si el nombre de usuario o correo ya están en uso.
      */
     public AuthResponse register(RegisterRequest request) {
+        return REGISTER_TIMER.record(() -> doRegister(request));
+    }
 
-        // Verificar que el username no esté repetido
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new CustomException("Username is already taken", HttpStatus.CONFLICT);
-        }
-
-        // Verificar que el email no esté ya en uso
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new CustomException("Email is already in use", HttpStatus.CONFLICT);
-        }
-
-        // Obtener el rol por defecto
-        Role defaultRole = roleRepository.findByRoleName(RoleName.ROLE_DEVELOPER)
-                .orElseThrow(() -> new CustomException("Default role not found", HttpStatus.INTERNAL_SERVER_ERROR));
+    private AuthResponse doRegister(RegisterRequest request) {
 
-        // Crear el nuevo usuario
+        // Crear el nuevo usuario con el rol por defecto
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
                 .password(passwordEncoder.encode(request.getPassword()))
-                .roles(Collections.singleton(defaultRole))
+                .roles(Collections.singleton(roleRegistry.get(RoleName.ROLE_DEVELOPER)))
                 .build();
 
-        userRepository.save(user);
+        // Un único INSERT: los duplicados llegan como violación de la restricción única
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateUser(ex);
+        }
+        availabilityService.registered(user.getUsername(), user.getEmail());
 
-        String token = jwtProvider.generateToken(user.getUsername());
-        return new AuthResponse(token, user.getUsername(), user.getEmail());
+        return buildResponse(user, refreshTokenService.issue(user));
     }
 
 
@@ -81,22 +98,121 @@ public class AuthService {
      * Autentica un usuario en el sistema.
      * 
      * Valida las credenciales proporcionadas comparando el username y la contraseña almacenada.
+     * Si el hash almacenado no usa el coste actual de BCrypt, se rehashea de forma transparente.
      *
      * @param request Datos de inicio de sesión del usuario.
-     * @return AuthResponse con el token generado y la información del usuario autenticado.
+     * @return AuthResponse con el token generado, el refresh token y la información del usuario autenticado.
      * @throws CustomException Si el usuario no existe o la contraseña es incorrecta.
      */
     public AuthResponse login(LoginRequest request) {
-        // Verificar que el usuario exista
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new CustomException("Invalid username or password", HttpStatus.UNAUTHORIZED));
+        return LOGIN_TIMER.record(() -> doLogin(request));
+    }
+
+    private AuthResponse doLogin(LoginRequest request) {
+        // Verificar que el usuario exista (proyección de solo lectura, sin cargar la entidad)
+        UserCredentials credentials = userRepository.findCredentialsByUsername(request.getUsername())
+                .orElseThrow(() -> INVALID_CREDENTIALS);
 
         // Verificar que la contraseña sea correcta
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new CustomException("Invalid username or password", HttpStatus.UNAUTHORIZED);
+        if (!passwordEncoder.matches(request.getPassword(), credentials.passwordHash())) {
+            throw INVALID_CREDENTIALS;
+        }
+
+        // Si el hash se generó con otro algoritmo o coste, se sustituye aprovechando la contraseña en claro
+        if (passwordEncoder.upgradeEncoding(credentials.passwordHash())) {
+            userRepository.updatePassword(credentials.id(), passwordEncoder.encode(request.getPassword()));
+        }
+
+        // El refresh token solo necesita la clave ajena: referencia sin consulta
+        String refreshToken = refreshTokenService.issue(userRepository.getReferenceById(credentials.id()));
+        return buildResponse(credentials.username(), credentials.id(), credentials.email(), credentials.roles(), refreshToken);
+    }
+
+
+    /**
+     * Renueva el token de acceso a partir de un refresh token, sin volver a comprobar la contraseña.
+     *
+     * El refresh token presentado queda invalidado y se entrega uno nuevo.
+     *
+     * @param request Refresh token recibido en la última autenticación.
+     * @return AuthResponse con el nuevo token de acceso y el nuevo refresh token.
+     * @throws CustomException Si el refresh token no es válido, ha caducado o ya se usó.
+     */
+    public AuthResponse refresh(RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        return buildResponse(rotation.user(), rotation.refreshToken());
+    }
+
+
+    /**
+     * Cierra la sesión revocando el token de acceso presentado hasta su expiración.
+     *
+     * @param token Token JWT (sin el prefijo "Bearer ").
+     * @throws CustomException Si el token no es válido o no se puede revocar.
+     */
+    public void logout(String token) {
+        TokenClaims claims;
+        try {
+            claims = jwtProvider.parseAndVerify(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw INVALID_TOKEN;
+        }
+        if (claims.jti() == null) {
+            throw TOKEN_NOT_REVOCABLE;
+        }
+        tokenRevocationService.revoke(claims.jti(), claims.expiration());
+    }
+
+
+    /**
+     * Revocación administrativa de un token por su jti.
+     * Como no se conoce su expiración, se mantiene durante la vida máxima de un token.
+     *
+     * @param jti Identificador del token a revocar.
+     */
+    public void revoke(String jti) {
+        tokenRevocationService.revoke(jti, null);
+    }
+
+
+    // Traduce la violación de la restricción única al mismo error que antes daban las comprobaciones previas.
+    // En BD creadas antes de nombrar las restricciones, ddl-auto no las renombra (siguen con el nombre
+    // generado por Hibernate): en ese caso se reconoce la columna por el detalle de PostgreSQL,
+    // "Key (username)=(...) already exists."
+    private static RuntimeException duplicateUser(DataIntegrityViolationException ex) {
+        String constraint = ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                        ? violation.getConstraintName()
+                        : "";
+        String detail = String.valueOf(ex.getMostSpecificCause().getMessage());
+        String text = (constraint + " " + detail).toLowerCase(Locale.ROOT);
+
+        if (text.contains(User.USERNAME_CONSTRAINT) || text.contains("key (username)")) {
+            return USERNAME_TAKEN;
         }
+        if (text.contains(User.EMAIL_CONSTRAINT) || text.contains("key (email)")) {
+            return EMAIL_IN_USE;
+        }
+        return ex; // Otra violación de integridad: no es un duplicado
+    }
+
+
+    private AuthResponse buildResponse(User user, String refreshToken) {
+        return buildResponse(user.getUsername(), user.getId(), user.getEmail(), roleNames(user), refreshToken);
+    }
+
+
+    private AuthResponse buildResponse(String username, Long userId, String email, List<String> roles,
+            String refreshToken) {
+        String token = jwtProvider.generateToken(username, userId, roles);
+        return new AuthResponse(token, username, email, refreshToken);
+    }
+
 
-        String token = jwtProvider.generateToken(user.getUsername());
-        return new AuthResponse(token, user.getUsername(), user.getEmail());
+    // Nombres de rol que se incluyen en el token para autorizar sin consultar la BD
+    private static List<String> roleNames(User user) {
+        return user.getRoles().stream()
+                .map(role -> role.getRoleName().name())
+                .toList();
     }
 }
@@ -0,0 +1,178 @@
+package com.tfg.authservice.auth.service;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tfg.authservice.auth.repository.UserBulkRepository;
+import com.tfg.authservice.auth.repository.UserRepository;
+import com.tfg.authservice.util.AuthMetrics;
+import com.tfg.authservice.util.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Disponibilidad de usernames y emails para el formulario de registro (consultas por pulsación).
+ *
+ * Cada instancia mantiene dos filtros de Bloom con los valores normalizados (trim + minúsculas):
+ *   - Si el filtro dice "no está", el valor está libre y se responde sin BD (caso habitual al teclear).
+ *   - Si dice "puede estar", se confirma con existsByUsername/existsByEmail.
+ *
+ * El índice se llena al arrancar recorriendo la tabla users en segundo plano (hasta terminar,
+ * todas las consultas van a la BD) y se actualiza en cada registro e importación de esta instancia.
+ * Los registros de otras instancias se incorporan con una sincronización periódica
+ * (auth.availability.sync-interval) que solo lee los usuarios con created_at posterior a la marca
+ * de agua (el mayor created_at visto) menos un margen; hasta entonces "disponible" puede estar
+ * desfasado, pero el registro sigue protegido por las restricciones únicas de la tabla (409).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+    private static final Counter FROM_MEMORY = AuthMetrics.counter("auth.availability.checks",
+            "Availability checks by resolution", "source", "memory");
+    private static final Counter FROM_DATABASE = AuthMetrics.counter("auth.availability.checks",
+            "Availability checks by resolution", "source", "database");
+
+    private final UserRepository userRepository;
+    private final UserBulkRepository userBulkRepository;
+
+    @Value("${auth.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    // Capacidad de los filtros: usuarios actuales x headroom (como mínimo min-capacity)
+    @Value("${auth.availability.headroom:2.0}")
+    private double headroom = 2.0;
+
+    @Value("${auth.availability.min-capacity:100000}")
+    private long minCapacity = 100_000;
+
+    // created_at lo pone PostgreSQL con now(), la hora de inicio de la transacción: una fila puede
+    // hacerse visible después de otras más recientes. Cada sincronización vuelve a leer este margen
+    // (ms) por debajo de la marca de agua; debe superar la transacción de inserción más larga
+    @Value("${auth.availability.sync-overlap:60000}")
+    private long syncOverlapMs = 60_000;
+
+    private BloomFilter usernames;
+    private BloomFilter emails;
+    private long capacity;
+
+    private volatile boolean loaded;
+    // Mayor created_at leído; null hasta ver el primer usuario
+    private volatile Instant watermark;
+    // Usernames distintos anotados (los releídos por el margen de sincronización no cuentan)
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicBoolean capacityWarned = new AtomicBoolean();
+
+    // Los filtros existen desde el arranque: los registros anteriores a la carga ya se anotan
+    @PostConstruct
+    public void init() {
+        this.capacity = Math.max(minCapacity, (long) (userRepository.count() * headroom));
+        this.usernames = new BloomFilter(capacity, falsePositiveRate);
+        this.emails = new BloomFilter(capacity, falsePositiveRate);
+    }
+
+    // Carga en segundo plano para no retrasar el arranque con tablas grandes
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread loader = new Thread(this::load, "availability-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Recorre la tabla users completa y marca el índice como listo.
+     */
+    public void load() {
+        long start = System.nanoTime();
+        try {
+            scan(null);
+            this.loaded = true;
+            log.info("Availability index loaded: {} users in {} ms", indexed.get(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            // Sin índice las consultas siguen funcionando contra la BD
+            log.error("Availability index load failed, checks will use the database", ex);
+        }
+    }
+
+    /**
+     * Incorpora los usuarios creados por otras instancias.
+     */
+    @Scheduled(fixedDelayString = "${auth.availability.sync-interval:5000}")
+    public void sync() {
+        if (loaded) {
+            Instant seen = watermark;
+            scan(seen != null ? seen.minusMillis(syncOverlapMs) : null);
+        }
+    }
+
+
+    /**
+     * Anota un usuario recién creado en esta instancia.
+     */
+    public void registered(String username, String email) {
+        add(username, email);
+    }
+
+    /**
+     * @param username Username a comprobar.
+     * @return true si nadie lo usa.
+     */
+    public boolean isUsernameAvailable(String username) {
+        if (loaded && !usernames.mightContain(normalize(username))) {
+            FROM_MEMORY.increment();
+            return true;
+        }
+        FROM_DATABASE.increment();
+        return !Boolean.TRUE.equals(userRepository.existsByUsername(username.trim()));
+    }
+
+    /**
+     * @param email Email a comprobar.
+     * @return true si nadie lo usa.
+     */
+    public boolean isEmailAvailable(String email) {
+        if (loaded && !emails.mightContain(normalize(email))) {
+            FROM_MEMORY.increment();
+            return true;
+        }
+        FROM_DATABASE.increment();
+        return !Boolean.TRUE.equals(userRepository.existsByEmail(email.trim()));
+    }
+
+    // Solo lo ejecuta un hilo a la vez (la carga inicial y después la tarea programada)
+    private void scan(Instant createdAfter) {
+        userBulkRepository.forEachUser(createdAfter, (username, email, createdAt) -> {
+            add(username, email);
+            if (createdAt != null && (watermark == null || createdAt.isAfter(watermark))) {
+                watermark = createdAt;
+            }
+        });
+    }
+
+    private void add(String username, String email) {
+        emails.put(normalize(email));
+        // Un falso positivo del filtro deja el contador algo por debajo, nunca por encima
+        if (usernames.put(normalize(username))
+                && indexed.incrementAndGet() >= capacity
+                && capacityWarned.compareAndSet(false, true)) {
+            log.warn("Availability index reached its capacity ({}): more checks will fall through to the database", capacity);
+        }
+    }
+
+    // Normalización conservadora: el filtro agrupa variantes y la BD decide con el valor exacto
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
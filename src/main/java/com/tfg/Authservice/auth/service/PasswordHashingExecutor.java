@@ -0,0 +1,165 @@
+package com.tfg.authservice.auth.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tfg.authservice.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool dedicado y acotado para el trabajo de login y registro, dominado por BCrypt.
+ *
+ * Tiene tantos hilos como núcleos (BCrypt es CPU pura: más hilos no dan más rendimiento)
+ * y una cola acotada. Así, durante una avalancha de logins los hilos de Tomcat quedan libres
+ * para el resto de endpoints, y cuando la cola se llena se rechaza al instante con 503 + Retry-After
+ * en lugar de acumular peticiones que acabarían en timeout.
+ *
+ * Con spring.threads.virtual.enabled=true (Java 21+; el mismo interruptor que pasa Tomcat a hilos
+ * virtuales) cada tarea corre en su propio hilo virtual. El paralelismo de CPU lo limitan los hilos
+ * portadores (uno por núcleo) y las esperas de JDBC ya no ocupan un hilo de plataforma; la admisión
+ * sigue acotada a threads + queue-capacity tareas en vuelo, con el mismo 503 al superarla.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    // Número de hilos; 0 = número de núcleos disponibles
+    @Value("${auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    // Segundos que se sugieren al cliente en Retry-After cuando la cola está llena
+    @Value("${auth.hashing.retry-after:1}")
+    private long retryAfterSeconds;
+
+    // Modo de ejecución: hilos virtuales si la JVM los soporta
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private int size;
+
+    private ExecutorService executor;
+
+    // Solo en modo virtual: tareas admitidas (en ejecución o esperando)
+    private Semaphore admissions;
+
+    @PostConstruct
+    public void init() {
+        this.size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService virtual = virtualThreads ? newVirtualThreadPerTaskExecutor() : null;
+        if (virtual != null) {
+            this.executor = virtual;
+            this.admissions = new Semaphore(size + queueCapacity);
+            log.info("Password hashing on virtual threads (max {} in flight)", size + queueCapacity);
+        } else {
+            this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        // Cola de hashing: si crece de forma sostenida, BCrypt es el cuello de botella
+        Gauge.builder("auth.hashing.queue", this, PasswordHashingExecutor::getQueueSize)
+                .description("Authentication tasks waiting for a hashing thread")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Ejecuta la tarea en el pool de hashing.
+     *
+     * @param task Trabajo a ejecutar (login, registro...).
+     * @return Futuro con el resultado de la tarea.
+     * @throws ServiceOverloadedException si la cola está llena.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        if (admissions != null) {
+            return submitVirtual(task);
+        }
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException ex) {
+            throw overloaded();
+        }
+    }
+
+    /**
+     * Tareas en cola esperando un hilo libre.
+     * En modo virtual, las admitidas por encima del número de núcleos.
+     */
+    public int getQueueSize() {
+        if (admissions != null) {
+            int inFlight = size + queueCapacity - admissions.availablePermits();
+            return Math.max(0, inFlight - size);
+        }
+        return ((ThreadPoolExecutor) executor).getQueue().size();
+    }
+
+    /**
+     * Indica si las tareas se ejecutan en hilos virtuales.
+     */
+    public boolean isVirtual() {
+        return admissions != null;
+    }
+
+    private <T> CompletableFuture<T> submitVirtual(Supplier<T> task) {
+        if (!admissions.tryAcquire()) {
+            throw overloaded();
+        }
+        try {
+            return CompletableFuture.supplyAsync(task, executor).whenComplete((result, error) -> admissions.release());
+        } catch (RejectedExecutionException ex) {
+            admissions.release();
+            throw overloaded();
+        }
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("Too many authentication requests, retry later", retryAfterSeconds);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() existe desde Java 21; el código se compila también para 17
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            log.warn("Virtual threads requested but not available on Java {}; using the platform thread pool",
+                    Runtime.version().feature());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.tfg.authservice.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tfg.authservice.auth.model.VO.RefreshToken;
+import com.tfg.authservice.auth.model.VO.User;
+import com.tfg.authservice.auth.repository.RefreshTokenRepository;
+import com.tfg.authservice.exception.BusinessException;
+import com.tfg.authservice.exception.CustomException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Gestión de refresh tokens opacos y rotatorios.
+ *
+ * Renovar con un refresh token cuesta un SHA-256 y una búsqueda por índice,
+ * frente al BCrypt completo de un login. Cada canje invalida el token usado y entrega
+ * uno nuevo de la misma familia; presentar un token ya canjeado revoca toda la familia.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    // 256 bits aleatorios: un hash rápido (SHA-256) es suficiente para almacenarlos
+    private static final int TOKEN_BYTES = 32;
+
+    // Rechazos esperados: instancias únicas sin traza
+    private static final BusinessException INVALID_TOKEN = new BusinessException("Invalid refresh token", HttpStatus.UNAUTHORIZED);
+    private static final BusinessException EXPIRED_TOKEN = new BusinessException("Refresh token expired", HttpStatus.UNAUTHORIZED);
+    private static final BusinessException REUSED_TOKEN = new BusinessException("Refresh token reuse detected", HttpStatus.UNAUTHORIZED);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    // Tiempo de vida de un refresh token en milisegundos (14 días por defecto)
+    @Value("${auth.refresh.expiration:1209600000}")
+    private Long refreshExpiration;
+
+    /**
+     * Resultado de una rotación: el usuario propietario y el nuevo token en claro.
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+
+    /**
+     * Emite un refresh token que inicia una nueva familia (login o registro).
+     *
+     * @param user Usuario autenticado.
+     * @return Token en claro para entregar al cliente.
+     */
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID().toString());
+    }
+
+
+    /**
+     * Canjea un refresh token por uno nuevo de la misma familia.
+     *
+     * @param rawToken Token en claro presentado por el cliente.
+     * @return Usuario propietario y nuevo refresh token.
+     * @throws CustomException 401 si el token no existe, ha caducado o ya se había usado.
+     */
+    // La revocación por reutilización debe persistir aunque se lance la excepción
+    @Transactional(noRollbackFor = CustomException.class)
+    public Rotation rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> INVALID_TOKEN);
+
+        if (current.getExpiresAt().isBefore(now)) {
+            throw EXPIRED_TOKEN;
+        }
+
+        // Si ya estaba usado o revocado, alguien está reutilizando un token robado
+        if (current.isRevoked() || current.getUsedAt() != null
+                || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw REUSED_TOKEN;
+        }
+
+        User user = current.getUser();
+        return new Rotation(user, create(user, current.getFamilyId()));
+    }
+
+    private String create(User user, String familyId) {
+        byte[] random = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(random);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .user(user)
+                .familyId(familyId)
+                .expiresAt(Instant.now().plusMillis(refreshExpiration))
+                .build());
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.tfg.authservice.auth.service;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tfg.authservice.auth.repository.RefreshTokenRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tarea en segundo plano que elimina los refresh tokens caducados.
+ *
+ * Borra por lotes, cada uno en su propia transacción, para no mantener bloqueos largos
+ * ni generar una única transacción enorme cuando se acumulan muchos tokens.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenSweeper {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${auth.refresh.sweep-batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${auth.refresh.sweep-interval:600000}")
+    public void sweepExpired() {
+        Instant now = Instant.now();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.debug("Deleted {} expired refresh tokens", total);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.tfg.authservice.auth.service;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import com.tfg.authservice.auth.dto.RegisterRequest;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Restricciones de RegisterRequest aplicadas fuera del controlador (importación masiva).
+ *
+ * El classpath no incluye un proveedor de Bean Validation, así que se leen las anotaciones
+ * de RegisterRequest y se evalúan aquí, con sus mismos mensajes: registro e importación
+ * aceptan los mismos datos. Una anotación de restricción no soportada falla al cargar la clase,
+ * para que añadir una regla al registro no la deje fuera de la importación sin avisar.
+ */
+final class RegisterConstraints {
+
+    // Misma forma que acepta @Email de Hibernate Validator: parte local y dominio (o IP entre corchetes)
+    private static final String ATOM = "[a-z0-9!#$%&'*+/=?^_`{|}~\\x{80}-\\x{FFFF}-]";
+    private static final String LABEL = "[a-z0-9\\x{80}-\\x{FFFF}](?:[a-z0-9\\x{80}-\\x{FFFF}-]*[a-z0-9\\x{80}-\\x{FFFF}])?";
+    private static final Pattern EMAIL = Pattern.compile(
+            "^" + ATOM + "+(?:\\." + ATOM + "+)*@(?:" + LABEL + "(?:\\." + LABEL + ")*|\\[[0-9a-f.:]+\\])$",
+            Pattern.CASE_INSENSITIVE);
+    private static final int MAX_LOCAL_PART = 64;
+    private static final int MAX_DOMAIN = 255;
+
+    private record Check(Field field, Predicate<String> valid, String message) {
+    }
+
+    private static final List<Check> CHECKS = readChecks();
+
+    private RegisterConstraints() {
+    }
+
+    /**
+     * @param request Datos de registro a comprobar.
+     * @return Mensajes de las restricciones incumplidas, en el orden de los campos; vacía si es válido.
+     */
+    static List<String> violations(RegisterRequest request) {
+        List<String> messages = new ArrayList<>(0);
+        for (Check check : CHECKS) {
+            if (!check.valid().test(value(check.field(), request))) {
+                messages.add(check.message());
+            }
+        }
+        return messages;
+    }
+
+    static boolean isEmail(String value) {
+        if (value == null || value.isEmpty()) {
+            return true; // Como @Email: la obligatoriedad la decide @NotBlank
+        }
+        int at = value.lastIndexOf('@');
+        return at > 0 && at <= MAX_LOCAL_PART && value.length() - at - 1 <= MAX_DOMAIN
+                && EMAIL.matcher(value).matches();
+    }
+
+    private static List<Check> readChecks() {
+        List<Check> checks = new ArrayList<>();
+        for (Field field : RegisterRequest.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            for (Annotation annotation : field.getAnnotations()) {
+                if (annotation instanceof NotBlank notBlank) {
+                    checks.add(new Check(field, value -> value != null && !value.isBlank(), notBlank.message()));
+                } else if (annotation instanceof Email email) {
+                    checks.add(new Check(field, RegisterConstraints::isEmail, email.message()));
+                } else if (annotation.annotationType().isAnnotationPresent(Constraint.class)) {
+                    throw new IllegalStateException("Unsupported constraint on RegisterRequest."
+                            + field.getName() + ": @" + annotation.annotationType().getSimpleName());
+                }
+            }
+        }
+        return List.copyOf(checks);
+    }
+
+    private static String value(Field field, RegisterRequest request) {
+        try {
+            return (String) field.get(request);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
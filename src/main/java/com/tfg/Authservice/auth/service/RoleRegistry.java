@@ -0,0 +1,84 @@
+package com.tfg.authservice.auth.service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tfg.authservice.auth.model.VO.Role;
+import com.tfg.authservice.auth.model.VO.Role.RoleName;
+import com.tfg.authservice.auth.repository.RoleRepository;
+import com.tfg.authservice.exception.CustomException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registro en memoria de los roles del sistema.
+ *
+ * Los roles son un catálogo cerrado (Role.RoleName) que casi nunca cambia, así que se cargan
+ * una vez en un EnumMap inmutable y se resuelven sin I/O. Cada recarga publica un mapa nuevo
+ * de forma atómica; los lectores nunca ven un mapa a medio construir.
+ *
+ * El código que modifique roles debe llamar a {@link #reload()}; la recarga periódica
+ * (auth.roles.refresh-interval) incorpora los cambios hechos desde otras instancias.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+
+    private volatile Map<RoleName, Role> roles = Collections.emptyMap();
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+
+    /**
+     * Vuelve a leer los roles de la base de datos y sustituye el registro.
+     */
+    @Scheduled(fixedDelayString = "${auth.roles.refresh-interval:300000}",
+            initialDelayString = "${auth.roles.refresh-interval:300000}")
+    public void reload() {
+        Map<RoleName, Role> loaded = new EnumMap<>(RoleName.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getRoleName(), role);
+        }
+        if (!loaded.equals(roles)) {
+            log.info("Loaded roles {}", loaded.keySet());
+        }
+        this.roles = Collections.unmodifiableMap(loaded);
+    }
+
+
+    /**
+     * Devuelve el rol indicado sin acceder a la base de datos.
+     *
+     * @param name Nombre del rol.
+     * @return Rol persistido.
+     * @throws CustomException Si el rol no existe (el catálogo no se ha sembrado).
+     */
+    public Role get(RoleName name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            throw new CustomException("Role " + name + " not found", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        return role;
+    }
+
+
+    /**
+     * Todos los roles cargados (vista inmutable).
+     */
+    public Map<RoleName, Role> all() {
+        return roles;
+    }
+}
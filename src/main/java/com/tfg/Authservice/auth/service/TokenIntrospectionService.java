@@ -0,0 +1,168 @@
+package com.tfg.authservice.auth.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.tfg.authservice.auth.dto.IntrospectionResponse;
+import com.tfg.authservice.auth.security.JwtProvider;
+import com.tfg.authservice.auth.security.TokenClaims;
+import com.tfg.authservice.exception.BusinessException;
+import com.tfg.authservice.exception.CustomException;
+import com.tfg.authservice.exception.ServiceOverloadedException;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Introspección de tokens de acceso (RFC 7662) para gateways y otros servicios.
+ *
+ * Solo usa memoria: la firma se verifica con JwtProvider (y su caché de claims verificados)
+ * y la revocación con el filtro de TokenRevocationService, que no consulta la BD para
+ * los tokens no revocados.
+ *
+ * Los lotes grandes se reparten en un pool propio y acotado, no en el ForkJoinPool común:
+ * un falso positivo del filtro de revocación consulta la BD y bloquea el hilo, y un lote no
+ * debe poder agotar los hilos que comparte el resto de la aplicación. Con el pool lleno se
+ * responde 503 con Retry-After, como en el pool de hashing.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService {
+
+    private static final BusinessException TOKENS_MANDATORY = new BusinessException("Tokens are mandatory", HttpStatus.BAD_REQUEST);
+
+    private final JwtProvider jwtProvider;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${auth.introspect.max-batch-size:100}")
+    private int maxBatchSize = 100;
+
+    // Tokens por tarea: por debajo de este tamaño no compensa repartir el lote entre hilos
+    @Value("${auth.introspect.parallel-threshold:32}")
+    private int parallelThreshold = 32;
+
+    // Hilos del pool de lotes; 0 = número de núcleos disponibles
+    @Value("${auth.introspect.threads:0}")
+    private int threads;
+
+    // Tareas en espera como máximo; por encima se rechaza el lote con 503
+    @Value("${auth.introspect.queue-capacity:16}")
+    private int queueCapacity = 16;
+
+    // Segundos que se sugieren al cliente en Retry-After cuando el pool está lleno
+    @Value("${auth.introspect.retry-after:1}")
+    private long retryAfterSeconds = 1;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "token-introspection-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+
+    /**
+     * Introspección de un token.
+     *
+     * @param token Token JWT (sin el prefijo "Bearer ").
+     * @return Datos del token si está activo; {"active": false} en cualquier otro caso.
+     */
+    public IntrospectionResponse introspect(String token) {
+        TokenClaims claims;
+        try {
+            claims = jwtProvider.parseAndVerify(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return IntrospectionResponse.INACTIVE;
+        }
+        if (tokenRevocationService.isRevoked(claims.jti())) {
+            return IntrospectionResponse.INACTIVE;
+        }
+        return new IntrospectionResponse(true, claims.subject(),
+                claims.expiration() != null ? claims.expiration().getEpochSecond() : null,
+                claims.issuedAt() != null ? claims.issuedAt().getEpochSecond() : null,
+                claims.jti(), claims.roles(), claims.permissions());
+    }
+
+
+    /**
+     * Introspección por lotes; el resultado mantiene el orden de los tokens recibidos.
+     *
+     * @param tokens Tokens a comprobar.
+     * @return Una respuesta por token.
+     * @throws CustomException Si el lote está vacío o supera auth.introspect.max-batch-size.
+     * @throws ServiceOverloadedException Si el pool de lotes está lleno.
+     */
+    public List<IntrospectionResponse> introspectAll(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            throw TOKENS_MANDATORY;
+        }
+        if (tokens.size() > maxBatchSize) {
+            throw new BusinessException("Too many tokens in one request (max " + maxBatchSize + ")", HttpStatus.BAD_REQUEST);
+        }
+        if (tokens.size() < parallelThreshold) {
+            return tokens.stream().map(this::introspect).toList();
+        }
+
+        // Un tramo de parallelThreshold tokens por tarea; el primero lo procesa el hilo de la petición
+        IntrospectionResponse[] responses = new IntrospectionResponse[tokens.size()];
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (int from = parallelThreshold; from < tokens.size(); from += parallelThreshold) {
+                int start = from;
+                int end = Math.min(tokens.size(), from + parallelThreshold);
+                tasks.add(executor.submit(() -> introspectRange(tokens, responses, start, end)));
+            }
+        } catch (RejectedExecutionException ex) {
+            tasks.forEach(task -> task.cancel(false));
+            throw new ServiceOverloadedException("Too many introspection requests, retry later", retryAfterSeconds);
+        }
+        introspectRange(tokens, responses, 0, parallelThreshold);
+        for (Future<?> task : tasks) {
+            await(task);
+        }
+        return Arrays.asList(responses);
+    }
+
+    private void introspectRange(List<String> tokens, IntrospectionResponse[] responses, int from, int to) {
+        for (int i = from; i < to; i++) {
+            responses[i] = introspect(tokens.get(i));
+        }
+    }
+
+    private static void await(Future<?> task) {
+        try {
+            task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while introspecting tokens", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.tfg.authservice.auth.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tfg.authservice.auth.model.VO.RevokedToken;
+import com.tfg.authservice.auth.repository.RevokedTokenRepository;
+import com.tfg.authservice.util.BloomFilter;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lista de revocación de tokens de acceso (por "jti").
+ *
+ * Las revocaciones se persisten en revoked_tokens, pero la comprobación por petición
+ * se resuelve en memoria:
+ *   1. Filtro de Bloom: si dice "no está", el token no está revocado (caso habitual, sin BD).
+ *   2. Conjunto exacto de revocaciones recientes: confirma los positivos sin BD.
+ *   3. Solo los posibles falsos positivos del filtro consultan la base de datos.
+ *
+ * Para que la memoria no crezca sin límite se usan dos generaciones de filtro, cada una
+ * de la duración de un token (jwt.expiration): al rotar se descarta la más antigua, cuyas
+ * revocaciones ya corresponden a tokens caducados. Las revocaciones hechas en otras
+ * instancias se incorporan con una sincronización periódica (auth.revocation.sync-interval).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    // Margen al sincronizar para no perder revocaciones confirmadas con algo de retraso
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.expiration}")
+    private Long jwtExpiration;
+
+    @Value("${auth.revocation.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${auth.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${auth.revocation.recent-max-size:10000}")
+    private int recentMaxSize;
+
+    @Value("${auth.revocation.sync-interval:5000}")
+    private long syncInterval;
+
+    @Value("${auth.revocation.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    // Generación actual y anterior del filtro; se sustituyen juntas de forma atómica
+    private volatile Generations generations;
+
+    // Revocaciones recientes con su expiración: respuesta exacta sin BD
+    private final Map<String, Instant> recent = new ConcurrentHashMap<>();
+
+    // Falsos positivos del filtro ya confirmados contra la BD, para no repetir la consulta
+    private Cache<String, Boolean> confirmedNotRevoked;
+
+    private volatile Instant lastSync;
+
+    private record Generations(BloomFilter current, BloomFilter previous, Instant currentSince) {
+
+        boolean mightContain(String jti) {
+            return current.mightContain(jti) || previous.mightContain(jti);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        Instant now = Instant.now();
+        this.confirmedNotRevoked = Caffeine.newBuilder()
+                .maximumSize(recentMaxSize)
+                .expireAfterWrite(Duration.ofMillis(syncInterval))
+                .build();
+        this.generations = new Generations(newFilter(), newFilter(), now);
+        for (RevokedToken revoked : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            remember(revoked.getJti(), revoked.getExpiresAt());
+        }
+        this.lastSync = now;
+    }
+
+
+    /**
+     * Indica si el token con ese jti está revocado.
+     * En el caso habitual (no revocado) se responde solo con el filtro en memoria.
+     *
+     * @param jti Identificador del token; los tokens sin jti no pueden revocarse.
+     * @return true si el token está revocado.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !generations.mightContain(jti)) {
+            return false;
+        }
+        if (recent.containsKey(jti)) {
+            return true;
+        }
+        if (confirmedNotRevoked.getIfPresent(jti) != null) {
+            return false;
+        }
+
+        // Posible falso positivo del filtro (o revocación fuera del conjunto reciente)
+        return revokedTokenRepository.findById(jti)
+                .map(revoked -> {
+                    rememberExact(jti, revoked.getExpiresAt());
+                    return true;
+                })
+                .orElseGet(() -> {
+                    confirmedNotRevoked.put(jti, Boolean.TRUE);
+                    return false;
+                });
+    }
+
+
+    /**
+     * Revoca un token hasta su expiración.
+     *
+     * @param jti Identificador del token.
+     * @param expiresAt Expiración del token; si se desconoce, se usa la vida máxima de un token.
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        Instant now = Instant.now();
+        Instant until = expiresAt != null ? expiresAt : now.plusMillis(jwtExpiration);
+        revokedTokenRepository.save(new RevokedToken(jti, until, now));
+        remember(jti, until);
+    }
+
+
+    /**
+     * Incorpora las revocaciones de otras instancias y rota las generaciones del filtro.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval:5000}")
+    public void sync() {
+        Instant now = Instant.now();
+        for (RevokedToken revoked : revokedTokenRepository.findByRevokedAtAfter(lastSync.minus(SYNC_OVERLAP))) {
+            remember(revoked.getJti(), revoked.getExpiresAt());
+        }
+        this.lastSync = now;
+
+        recent.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+
+        // La generación anterior solo contiene tokens que ya han caducado: se descarta
+        Generations current = generations;
+        if (current.currentSince().plusMillis(jwtExpiration).isBefore(now)) {
+            this.generations = new Generations(newFilter(), current.current(), now);
+        }
+    }
+
+
+    /**
+     * Borra de la base de datos las revocaciones de tokens ya caducados, por lotes.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int deleted;
+        do {
+            deleted = revokedTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+        } while (deleted == purgeBatchSize);
+    }
+
+    private void remember(String jti, Instant expiresAt) {
+        generations.current().put(jti);
+        confirmedNotRevoked.invalidate(jti);
+        rememberExact(jti, expiresAt);
+    }
+
+    // El conjunto exacto está acotado; fuera de él la BD sigue dando la respuesta correcta
+    private void rememberExact(String jti, Instant expiresAt) {
+        if (recent.size() < recentMaxSize) {
+            recent.put(jti, expiresAt);
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+}
@@ -0,0 +1,275 @@
+package com.tfg.authservice.auth.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tfg.authservice.auth.dto.ImportResult;
+import com.tfg.authservice.auth.dto.ImportResult.Status;
+import com.tfg.authservice.auth.dto.RegisterRequest;
+import com.tfg.authservice.auth.model.VO.Role.RoleName;
+import com.tfg.authservice.auth.repository.UserBulkRepository;
+import com.tfg.authservice.auth.repository.UserBulkRepository.NewUser;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importación masiva de usuarios (migración de tenants).
+ *
+ * Lee el cuerpo en streaming (NDJSON o CSV con cabecera) y lo procesa por lotes:
+ *   1. Valida cada línea con las restricciones de RegisterRequest y hashea las contraseñas en paralelo, un hilo por núcleo.
+ *      Los hashes BCrypt ya calculados ({bcrypt}$2a$... o $2a$...) se guardan tal cual.
+ *   2. Inserta el lote en users y user_roles con UserBulkRepository (un round trip por tabla).
+ *   3. Entrega los resultados del lote al llamante para que los envíe sin esperar al final.
+ *
+ * Con auth.import.bcrypt-strength se puede importar con un coste menor; el rehash del login
+ * sube esos hashes al coste actual la primera vez que cada usuario entra.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^(\\{bcrypt\\})?\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final String BCRYPT_PREFIX = "{bcrypt}";
+
+    private final UserBulkRepository userBulkRepository;
+    private final RoleRegistry roleRegistry;
+    private final PasswordEncoder passwordEncoder;
+    private final AvailabilityService availabilityService;
+
+    @Value("${auth.import.batch-size:1000}")
+    private int batchSize;
+
+    // Coste BCrypt de la importación; 0 = el mismo que el registro
+    @Value("${auth.import.bcrypt-strength:0}")
+    private int importStrength;
+
+    private PasswordEncoder importEncoder;
+    private ExecutorService hashingPool;
+
+    @PostConstruct
+    public void init() {
+        this.importEncoder = importStrength > 0
+                ? new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(importStrength)))
+                : passwordEncoder;
+        AtomicInteger counter = new AtomicInteger();
+        this.hashingPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "user-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+
+    /**
+     * Importa los usuarios del flujo recibido.
+     *
+     * @param body Cuerpo de la petición (UTF-8), una línea por usuario.
+     * @param csv true si es CSV con cabecera (username,email,password[,role]); false si es NDJSON.
+     * @param results Recibe los resultados de cada lote en cuanto se ha insertado.
+     * @return Número de usuarios creados.
+     */
+    public long importUsers(InputStream body, boolean csv, Consumer<List<ImportResult>> results) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String[] header = null;
+        List<Row> batch = new ArrayList<>(batchSize);
+        long created = 0;
+        int lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (csv && header == null) {
+                header = splitCsv(line);
+                continue;
+            }
+            batch.add(new Row(lineNumber, line));
+            if (batch.size() == batchSize) {
+                created += flush(batch, header, results);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        created += flush(batch, header, results);
+        log.info("User import finished: {} users created from {} lines", created, lineNumber);
+        return created;
+    }
+
+    private record Row(int line, String text) {
+    }
+
+    // Línea ya validada y hasheada, o con el resultado de error ya decidido
+    private record Prepared(int line, NewUser user, ImportResult error) {
+    }
+
+    private long flush(List<Row> batch, String[] header, Consumer<List<ImportResult>> results) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Validación y hashing en paralelo (BCrypt domina el coste del lote)
+        List<CompletableFuture<Prepared>> futures = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            futures.add(CompletableFuture.supplyAsync(() -> prepare(row, header), hashingPool));
+        }
+        List<Prepared> prepared = futures.stream().map(CompletableFuture::join).toList();
+
+        List<NewUser> users = new ArrayList<>(prepared.size());
+        Map<String, Boolean> seen = new HashMap<>(prepared.size() * 2);
+        for (Prepared p : prepared) {
+            if (p.user() != null && seen.putIfAbsent(p.user().username(), Boolean.TRUE) == null) {
+                users.add(p.user());
+            }
+        }
+        Map<String, Long> inserted = userBulkRepository.insertBatch(users);
+
+        List<ImportResult> batchResults = new ArrayList<>(prepared.size());
+        for (Prepared p : prepared) {
+            if (p.error() != null) {
+                batchResults.add(p.error());
+            } else if (inserted.remove(p.user().username()) != null) {
+                availabilityService.registered(p.user().username(), p.user().email());
+                batchResults.add(new ImportResult(p.line(), p.user().username(), Status.CREATED, null));
+            } else {
+                batchResults.add(new ImportResult(p.line(), p.user().username(), Status.DUPLICATE,
+                        "Username or email already exists"));
+            }
+        }
+        results.accept(batchResults);
+        return batchResults.stream().filter(r -> r.getStatus() == Status.CREATED).count();
+    }
+
+    private Prepared prepare(Row row, String[] header) {
+        Map<String, String> fields;
+        try {
+            fields = header != null ? csvFields(header, splitCsv(row.text())) : jsonFields(row.text());
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            return invalid(row.line(), null, "Malformed line");
+        }
+
+        // Mismas reglas que el registro; el mensaje incluye todas las que incumple la línea
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(fields.get("username"));
+        request.setEmail(fields.get("email"));
+        request.setPassword(fields.get("password"));
+        List<String> violations = RegisterConstraints.violations(request);
+        if (!violations.isEmpty()) {
+            return invalid(row.line(), request.getUsername(), String.join("; ", violations));
+        }
+        String username = request.getUsername();
+        String email = request.getEmail();
+        String password = request.getPassword();
+
+        RoleName roleName;
+        try {
+            roleName = roleName(fields.get("role"));
+        } catch (IllegalArgumentException ex) {
+            return invalid(row.line(), username, "Unknown role");
+        }
+
+        String hash = BCRYPT_HASH.matcher(password).matches()
+                ? (password.startsWith(BCRYPT_PREFIX) ? password : BCRYPT_PREFIX + password)
+                : importEncoder.encode(password);
+        return new Prepared(row.line(), new NewUser(username, email, hash, roleRegistry.get(roleName).getId()), null);
+    }
+
+    private static Prepared invalid(int line, String username, String message) {
+        return new Prepared(line, null, new ImportResult(line, username, Status.INVALID, message));
+    }
+
+    private static RoleName roleName(String role) {
+        if (isBlank(role)) {
+            return RoleName.ROLE_DEVELOPER;
+        }
+        String name = role.trim().toUpperCase(Locale.ROOT);
+        return RoleName.valueOf(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+    }
+
+    private static Map<String, String> jsonFields(String line) throws JsonProcessingException {
+        JsonNode node = MAPPER.readTree(line);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Not a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        node.fields().forEachRemaining(entry -> fields.put(entry.getKey(), entry.getValue().asText(null)));
+        return fields;
+    }
+
+    private static Map<String, String> csvFields(String[] header, String[] values) {
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            fields.put(header[i].trim().toLowerCase(Locale.ROOT), values[i]);
+        }
+        return fields;
+    }
+
+    // CSV (RFC 4180) de una línea: comas como separador y comillas dobles para escapar
+    static String[] splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values.toArray(String[]::new);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,33 +1,90 @@
 package com.tfg.authservice.config;
 
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.tfg.authservice.auth.security.JwtAuthenticationFilter;
+import com.tfg.authservice.auth.security.JwtProvider;
+import com.tfg.authservice.auth.security.TargetCostBCryptPasswordEncoder;
+import com.tfg.authservice.auth.security.TimedPasswordEncoder;
+import com.tfg.authservice.auth.security.permission.Permission;
+import com.tfg.authservice.auth.security.permission.Permissions;
+import com.tfg.authservice.auth.service.TokenRevocationService;
 
 @Configuration
 public class SecurityConfig {
 
-    // Define el algoritmo de encriptación para contraseñas
+    private static final String BCRYPT_ID = "bcrypt";
+
+    // Define el algoritmo de encriptación para contraseñas.
+    // Los hashes se guardan con prefijo ({bcrypt}$2a$12$...): algoritmo y coste quedan en el propio hash.
+    // El coste se calibra al arrancar para que un hash tarde ~auth.password.target-latency-ms en este equipo,
+    // salvo que se fije con auth.password.bcrypt-strength (valor > 0).
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.password.bcrypt-strength:0}") int fixedStrength,
+            @Value("${auth.password.target-latency-ms:100}") long targetLatencyMs,
+            @Value("${auth.password.min-strength:10}") int minStrength,
+            @Value("${auth.password.max-strength:14}") int maxStrength) {
+        int strength = fixedStrength > 0
+                ? fixedStrength
+                : TargetCostBCryptPasswordEncoder.calibrate(Duration.ofMillis(targetLatencyMs), minStrength, maxStrength);
+        TargetCostBCryptPasswordEncoder bcrypt = new TargetCostBCryptPasswordEncoder(strength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        // Hashes anteriores sin prefijo: se verifican como BCrypt y se rehashean en el siguiente login
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new TimedPasswordEncoder(encoder); // tiempos de BCrypt en /actuator/prometheus
     }
 
     // Configura las reglas de seguridad
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtProvider jwtProvider,
+            TokenRevocationService revocationService, Environment environment) throws Exception {
         http
             .csrf(csrf -> csrf.disable()) // CSRF deshabilitado (no hay sesiones)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // sin sesión HTTP
             .authorizeHttpRequests(auth -> auth
+                // Permisos del token (un AND sobre el claim "perm"); los controladores lo repiten con @RequiresPermission
+                .requestMatchers("/auth/revoke/**").access(Permissions.require(Permission.TOKEN_REVOKE)) // revocación administrativa
+                .requestMatchers("/auth/introspect").access(Permissions.require(Permission.TOKEN_INTROSPECT)) // RFC 7662 §2.1: endpoint protegido
+                .requestMatchers("/auth/admin/users/**").access(Permissions.require(Permission.USER_IMPORT)) // administración de usuarios
+                .requestMatchers("/auth/admin/**").hasRole("ADMIN")
+                .requestMatchers("/auth/logout").authenticated() // requiere el token que se revoca
                 .requestMatchers("/auth/**").permitAll() // rutas públicas
+                .requestMatchers("/.well-known/jwks.json").permitAll() // claves públicas de verificación
+                .requestMatchers("/actuator/health", "/livez", "/readyz").permitAll() // sondas
+                // Métricas sin login solo por el puerto de gestión (interno); en el público exigen autenticación
+                .requestMatchers(request -> "/actuator/prometheus".equals(request.getRequestURI())
+                        && onManagementPort(environment, request.getLocalPort())).permitAll()
                 .anyRequest().authenticated()           // lo demás requiere login
             )
-            .httpBasic(Customizer.withDefaults()); // por ahora básico, se usará JWT más adelante
+            // Sin token válido se responde 401 (sin desafío Basic)
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            // Autenticación por JWT: solo verifica la firma, sin BD ni BCrypt por petición.
+            // No se registra como @Component para que el contenedor no lo ejecute dos veces.
+            .addFilterBefore(new JwtAuthenticationFilter(jwtProvider, revocationService), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
+
+    // Puerto real del servidor de gestión (management.server.port); solo existe si es distinto del público
+    private static boolean onManagementPort(Environment environment, int localPort) {
+        Integer managementPort = environment.getProperty("local.management.port", Integer.class);
+        return managementPort != null && managementPort == localPort
+                && !managementPort.equals(environment.getProperty("local.server.port", Integer.class));
+    }
 }
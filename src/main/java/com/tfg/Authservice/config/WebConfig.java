@@ -0,0 +1,22 @@
+package com.tfg.authservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.tfg.authservice.auth.security.permission.PermissionInterceptor;
+
+import lombok.RequiredArgsConstructor;
+
+// Configuración de Spring MVC: comprobación de @RequiresPermission en los controladores
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final PermissionInterceptor permissionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(permissionInterceptor);
+    }
+}
@@ -0,0 +1,45 @@
+package com.tfg.authservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+
+/**
+ * Excepción para errores de negocio esperados (credenciales incorrectas, usuario duplicado,
+ * petición incompleta...).
+ *
+ * Son parte del flujo normal y, bajo un ataque de relleno de credenciales, mucho más frecuentes
+ * que los éxitos, así que:
+ *   - No captura la traza de la pila (no aporta nada para un error previsto y es lo más caro de lanzar).
+ *   - Lleva el cuerpo JSON de la respuesta ya serializado: el manejador solo añade la fecha y el path.
+ *
+ * Al no tener estado mutable, las que tienen mensaje fijo pueden declararse como constantes y
+ * lanzarse siempre la misma instancia.
+ */
+public class BusinessException extends CustomException {
+
+    /**
+     * Cuerpo de la respuesta serializado de antemano (estado, motivo y mensaje).
+     */
+    private final transient ErrorBodyTemplate body;
+
+    /**
+     * Constructor que inicializa la excepción con un mensaje y un código de estado HTTP.
+     *
+     * @param message Mensaje descriptivo del error (se envía tal cual al cliente).
+     * @param status Código de estado HTTP que indica la naturaleza del error.
+     */
+    public BusinessException(String message, HttpStatus status) {
+        super(message, status, false);
+        this.body = new ErrorBodyTemplate(status, message);
+    }
+
+    /**
+     * Genera el cuerpo JSON de la respuesta para la ruta indicada.
+     *
+     * @param path Ruta de la solicitud donde ocurrió el error.
+     * @return Cuerpo con el mismo formato que ErrorResponse.
+     */
+    byte[] renderBody(String path) {
+        return body.render(path);
+    }
+}
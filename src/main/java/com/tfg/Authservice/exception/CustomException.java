@@ -28,6 +28,18 @@ public class CustomException extends RuntimeException {
         this.status = status;
     }
 
+    /**
+     * Constructor para subclases que representan errores esperados y no necesitan la traza de la pila.
+     *
+     * @param message Mensaje descriptivo del error.
+     * @param status Código de estado HTTP que indica la naturaleza del error.
+     * @param writableStackTrace false para no capturar la traza (ni admitir excepciones suprimidas).
+     */
+    protected CustomException(String message, HttpStatus status, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+        this.status = status;
+    }
+
     /**
      * Obtiene el código de estado HTTP asociado a la excepción.
      *
@@ -0,0 +1,81 @@
+package com.tfg.authservice.exception;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+
+/**
+ * Plantilla del cuerpo de error ya serializada para un estado y un mensaje fijos.
+ *
+ * Produce exactamente lo mismo que Jackson al serializar un ErrorResponse:
+ *   {"timestamp":"...","status":401,"error":"Unauthorized","message":"...","path":"..."}
+ * pero la parte fija (estado, motivo y mensaje, ya escapados y en UTF-8) se calcula una sola vez;
+ * por petición solo se formatea la fecha y se escapa el path.
+ */
+final class ErrorBodyTemplate {
+
+    private static final JsonStringEncoder JSON = JsonStringEncoder.getInstance();
+    private static final byte[] OPEN = ascii("{\"timestamp\":\"");
+    private static final byte[] CLOSE = ascii("\"}");
+
+    /**
+     * Desde el cierre de la fecha hasta la apertura del path: ","status":401,...,"path":"
+     */
+    private final byte[] middle;
+
+    ErrorBodyTemplate(HttpStatus status, String message) {
+        this.middle = concat(
+                ascii("\",\"status\":" + status.value() + ",\"error\":\""),
+                json(status.getReasonPhrase()),
+                ascii("\",\"message\":\""),
+                json(String.valueOf(message)),
+                ascii("\",\"path\":\""));
+    }
+
+    byte[] render(String path) {
+        return render(LocalDateTime.now(), path);
+    }
+
+    // Mismo formato de fecha que el serializador de LocalDateTime de Jackson
+    byte[] render(LocalDateTime timestamp, String path) {
+        return concat(OPEN, ascii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp)), middle,
+                json(String.valueOf(path)), CLOSE);
+    }
+
+    // Escapes de Jackson; además, como su generador UTF-8 (el que usa Spring para las respuestas),
+    // los pares suplentes se escriben como \\uXXXX en lugar de en crudo
+    private static byte[] json(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 16);
+        for (char c : JSON.quoteAsString(value)) {
+            if (Character.isSurrogate(c)) {
+                quoted.append(String.format("\\u%04X", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+}
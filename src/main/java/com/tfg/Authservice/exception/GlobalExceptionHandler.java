@@ -1,7 +1,9 @@
 package com.tfg.authservice.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -9,6 +11,10 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.stream.Collectors;
 
+import com.tfg.authservice.util.AuthMetrics;
+
+import io.micrometer.core.instrument.Counter;
+
 
 /**
  * Manejador global de excepciones para el servicio de autenticación.
@@ -26,6 +32,58 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Contadores de errores por código HTTP (auth.errors{status=...}), indexados por el código: sin boxing ni hash por error.
+    // Los habituales se registran al cargar la clase
+    private static final Counter[] ERROR_COUNTERS = new Counter[600];
+
+    // Cabeceras de los cuerpos pre-serializados: inmutables y compartidas entre respuestas
+    private static final HttpHeaders JSON_HEADERS;
+
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        JSON_HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    static {
+        for (HttpStatus status : new HttpStatus[] { HttpStatus.BAD_REQUEST, HttpStatus.UNAUTHORIZED,
+                HttpStatus.FORBIDDEN, HttpStatus.NOT_FOUND, HttpStatus.CONFLICT, HttpStatus.TOO_MANY_REQUESTS,
+                HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.SERVICE_UNAVAILABLE }) {
+            errorCounter(status);
+        }
+    }
+
+    private static Counter errorCounter(HttpStatus status) {
+        int code = status.value();
+        Counter counter = ERROR_COUNTERS[code];
+        if (counter == null) {
+            // Carrera benigna: Micrometer devuelve el mismo contador para el mismo nombre y tags
+            counter = AuthMetrics.counter("auth.errors", "Error responses by HTTP status", "status", String.valueOf(code));
+            ERROR_COUNTERS[code] = counter;
+        }
+        return counter;
+    }
+
+    /**
+     * Maneja los errores de negocio esperados (BusinessException).
+     *
+     * El cuerpo ya viene serializado en la excepción: no se crea ErrorResponse ni se pasa por Jackson.
+     *
+     * @param ex Excepción de negocio lanzada en la aplicación.
+     * @param request Información de la solicitud que generó el error.
+     * @return Respuesta con código de estado y el cuerpo JSON de error.
+     */
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<byte[]> handleBusinessException(
+            BusinessException ex,
+            HttpServletRequest request
+            ) 
+    {
+        errorCounter(ex.getStatus()).increment();
+        return new ResponseEntity<>(ex.renderBody(request.getRequestURI()), JSON_HEADERS, ex.getStatus());
+    }
+
+
     /**
      * Maneja nuestras excepciones personalizadas del sistema (CustomException).
      * 
@@ -40,6 +98,8 @@ public class GlobalExceptionHandler {
             HttpServletRequest request // Información sobre la solicitud HTTP en la que ocurrió el error
             ) 
     {
+        errorCounter(ex.getStatus()).increment();
+
         // Creación de una respuesta de error con los detalles de la excepción
         ErrorResponse response = new ErrorResponse(
                 ex.getStatus().value(), // Código de estado HTTP (por ejemplo, 404, 500) obtenido de mi CustomException
@@ -53,6 +113,51 @@ public class GlobalExceptionHandler {
     }
 
 
+    /**
+     * Maneja la saturación del servicio (cola de hashing llena).
+     * 
+     * @param ex Excepción con el tiempo sugerido de reintento.
+     * @param request Información de la solicitud que generó el error.
+     * @return Respuesta 503 con la cabecera Retry-After.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<byte[]> handleServiceOverloaded(
+            ServiceOverloadedException ex,
+            HttpServletRequest request
+            ) 
+    {
+        errorCounter(ex.getStatus()).increment();
+
+        // Indica al cliente cuándo reintentar en lugar de dejarle esperar al timeout
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ex.renderBody(request.getRequestURI()));
+    }
+
+
+    /**
+     * Maneja el exceso de intentos (limitador de login).
+     * 
+     * @param ex Excepción con el tiempo sugerido de reintento.
+     * @param request Información de la solicitud que generó el error.
+     * @return Respuesta 429 con la cabecera Retry-After.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<byte[]> handleTooManyRequests(
+            TooManyRequestsException ex,
+            HttpServletRequest request
+            ) 
+    {
+        errorCounter(ex.getStatus()).increment();
+
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ex.renderBody(request.getRequestURI()));
+    }
+
+
     /**
      * Maneja excepciones de validación generadas por @Valid.
      * 
@@ -67,6 +172,8 @@ public class GlobalExceptionHandler {
             HttpServletRequest request // Información sobre la solicitud HTTP en la que ocurrió el error
             ) 
     {
+        errorCounter(HttpStatus.BAD_REQUEST).increment();
+
         // Extrae los mensajes de error de la validación
         String errorMessage = ex.getBindingResult() // Obtiene el resultado de la validación
                 .getAllErrors() // Obtiene todos los errores generados
@@ -101,6 +208,8 @@ public class GlobalExceptionHandler {
             HttpServletRequest request // Información sobre la solicitud HTTP en la que ocurrió el error
             ) 
     {
+        errorCounter(HttpStatus.INTERNAL_SERVER_ERROR).increment();
+
         // Crea un objeto de respuesta de error con detalles generales sobre el fallo
         ErrorResponse response = new ErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(), // Código de estado HTTP 500 (Error interno del servidor)
@@ -0,0 +1,39 @@
+package com.tfg.authservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+
+/**
+ * Excepción lanzada cuando el servicio no puede aceptar más trabajo en ese momento
+ * (por ejemplo, la cola de hashing de contraseñas está llena).
+ *
+ * Se responde con 503 y la cabecera Retry-After para que el cliente reintente más tarde,
+ * en lugar de dejar la petición esperando hasta agotar el timeout.
+ */
+public class ServiceOverloadedException extends BusinessException {
+
+    /**
+     * Segundos que el cliente debería esperar antes de reintentar.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor que inicializa la excepción con un mensaje y el tiempo de reintento.
+     *
+     * @param message Mensaje descriptivo del error.
+     * @param retryAfterSeconds Segundos sugeridos antes de reintentar.
+     */
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Obtiene los segundos sugeridos antes de reintentar.
+     *
+     * @return Valor para la cabecera Retry-After.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
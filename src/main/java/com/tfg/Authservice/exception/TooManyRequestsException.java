@@ -0,0 +1,38 @@
+package com.tfg.authservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+
+/**
+ * Excepción lanzada cuando un cliente supera el límite de peticiones permitido
+ * (por ejemplo, demasiados intentos de login para una cuenta o una IP).
+ *
+ * Se responde con 429 y la cabecera Retry-After.
+ */
+public class TooManyRequestsException extends BusinessException {
+
+    /**
+     * Segundos que el cliente debería esperar antes de reintentar.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor que inicializa la excepción con un mensaje y el tiempo de reintento.
+     *
+     * @param message Mensaje descriptivo del error.
+     * @param retryAfterSeconds Segundos sugeridos antes de reintentar.
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Obtiene los segundos sugeridos antes de reintentar.
+     *
+     * @return Valor para la cabecera Retry-After.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,48 @@
+package com.tfg.authservice.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Creación de los medidores (Micrometer) de los caminos críticos de autenticación.
+ *
+ * Los medidores se registran una sola vez, al cargar cada clase, en el registro global;
+ * Spring Boot añade a él el registro de Prometheus (management.metrics.use-global-registry),
+ * así que en ejecución no hay búsquedas por nombre ni etiquetas. Fuera de Spring (tests,
+ * benchmarks) el registro global no tiene destinos y los medidores no hacen nada.
+ */
+public final class AuthMetrics {
+
+    private AuthMetrics() {
+    }
+
+    /**
+     * Timer con histograma de percentiles (p50/p95/p99 calculables en Prometheus).
+     *
+     * @param name nombre del medidor (por ejemplo "auth.login").
+     * @param description descripción para /actuator/prometheus.
+     * @param tags pares clave/valor adicionales.
+     */
+    public static Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Contador simple.
+     *
+     * @param name nombre del medidor.
+     * @param description descripción para /actuator/prometheus.
+     * @param tags pares clave/valor adicionales.
+     */
+    public static Counter counter(String name, String description, String... tags) {
+        return Counter.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(Metrics.globalRegistry);
+    }
+}
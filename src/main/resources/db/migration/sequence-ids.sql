@@ -0,0 +1,56 @@
+-- Migración de IDENTITY a secuencias para users y roles (PostgreSQL).
+--
+-- Hibernate usa el optimizador "pooled" con allocationSize = 50: cada nextval reserva el bloque
+-- (valor - 49 .. valor). Las secuencias deben incrementar de 50 en 50 y arrancar por encima del id
+-- máximo actual: con setval(..., MAX(id) + 50, false) el primer bloque es (MAX(id) + 1 .. MAX(id) + 50).
+-- Ejecutar una sola vez, con el servicio parado:
+--   psql "$SPRING_DATASOURCE_URL" -f sequence-ids.sql
+
+BEGIN;
+
+-- users
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+
+-- roles
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE roles ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS roles_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('roles_seq', COALESCE((SELECT MAX(id) FROM roles), 0) + 50, false);
+
+-- Fecha de alta: la leen UserBulkRepository y la sincronización de disponibilidad. Las filas
+-- existentes toman la hora de la migración (el DEFAULT las rellena); después la pone PostgreSQL al insertar
+ALTER TABLE users ADD COLUMN IF NOT EXISTS created_at timestamptz(6) DEFAULT now();
+ALTER TABLE users ALTER COLUMN created_at SET NOT NULL;
+CREATE INDEX IF NOT EXISTS ix_users_created_at ON users (created_at);
+
+-- Hibernate crea un CHECK con los valores de RoleName y ddl-auto=update no lo amplía:
+-- sin esto, DataLoader no podría sembrar ROLE_GATEWAY (cliente de introspección) al arrancar
+ALTER TABLE roles DROP CONSTRAINT IF EXISTS roles_role_name_check;
+ALTER TABLE roles ADD CONSTRAINT roles_role_name_check
+    CHECK (role_name IN ('ROLE_ADMIN', 'ROLE_MANAGER', 'ROLE_DEVELOPER', 'ROLE_GATEWAY'));
+
+-- Nombres explícitos de las restricciones únicas de users (el registro los usa para distinguir el duplicado)
+DO $$
+DECLARE
+    constraint_name text;
+BEGIN
+    FOR constraint_name IN
+        SELECT c.conname FROM pg_constraint c
+        WHERE c.conrelid = 'users'::regclass AND c.contype = 'u'
+          AND c.conname NOT IN ('uk_users_username', 'uk_users_email')
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', constraint_name);
+    END LOOP;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'users'::regclass AND conname = 'uk_users_username') THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'users'::regclass AND conname = 'uk_users_email') THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+    END IF;
+END $$;
+
+COMMIT;
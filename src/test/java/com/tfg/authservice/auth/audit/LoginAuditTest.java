@@ -0,0 +1,218 @@
+package com.tfg.authservice.auth.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tfg.authservice.auth.repository.LoginAuditRepository;
+import com.tfg.authservice.exception.CustomException;
+import com.tfg.authservice.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Test class para LoginAudit y su cola circular.
+ * Los eventos llegan a la BD por lotes y en orden; con la cola llena se descartan sin esperar.
+ */
+@ExtendWith(MockitoExtension.class)
+public class LoginAuditTest {
+
+    @InjectMocks
+    private LoginAudit loginAudit;
+
+    @Mock
+    private LoginAuditRepository loginAuditRepository;
+
+    // Copia de cada lote: LoginAudit reutiliza la lista tras escribirla
+    private final List<List<AuditEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    // Contadores de descartes (auth.audit.events) del registro global
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void shouldWriteEventsInBatchesWithOutcome() throws Exception {
+        ReflectionTestUtils.setField(loginAudit, "batchSize", 4);
+        captureBatches(null);
+        loginAudit.init();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            loginAudit.login("user-" + i, "10.0.0.1", start, null);
+        }
+        loginAudit.login("user-8", "10.0.0.1", start,
+                new CompletionException(new CustomException("Invalid username or password", HttpStatus.UNAUTHORIZED)));
+        loginAudit.register("user-9", "10.0.0.2", start, new TooManyRequestsException("Too many login attempts", 1));
+        loginAudit.shutdown();
+
+        List<AuditEvent> written = batches.stream().flatMap(List::stream).toList();
+        assertEquals(10, written.size());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 4));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("user-" + i, written.get(i).username());
+        }
+        assertEquals(AuditEvent.Outcome.SUCCESS, written.get(0).outcome());
+        assertEquals(200, written.get(0).status());
+        assertEquals(AuditEvent.Outcome.FAILURE, written.get(8).outcome());
+        assertEquals(401, written.get(8).status());
+        assertEquals(AuditEvent.Type.REGISTER, written.get(9).type());
+        assertEquals(AuditEvent.Outcome.REJECTED, written.get(9).outcome());
+        assertEquals(429, written.get(9).status());
+    }
+
+    @Test
+    void shouldDropWhenBufferIsFull() throws Exception {
+        ReflectionTestUtils.setField(loginAudit, "bufferSize", 2);
+        ReflectionTestUtils.setField(loginAudit, "batchSize", 1);
+        // La BD no responde hasta que se libera el cerrojo
+        CountDownLatch databaseDown = new CountDownLatch(1);
+        captureBatches(databaseDown);
+        loginAudit.init();
+
+        int accepted = 0;
+        int dropped = 0;
+        for (int i = 0; i < 20; i++) {
+            if (loginAudit.publish(event("user-" + i))) {
+                accepted++;
+            } else {
+                dropped++;
+            }
+            Thread.sleep(1);
+        }
+        databaseDown.countDown();
+        loginAudit.shutdown();
+
+        assertTrue(dropped > 0);
+        assertEquals(accepted, batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void blockPolicyShouldWaitForRoomAndDropAfterTimeout() throws Exception {
+        ReflectionTestUtils.setField(loginAudit, "bufferSize", 2);
+        ReflectionTestUtils.setField(loginAudit, "batchSize", 1);
+        ReflectionTestUtils.setField(loginAudit, "overflow", LoginAudit.OverflowPolicy.BLOCK);
+        ReflectionTestUtils.setField(loginAudit, "blockTimeoutMs", 50L);
+        CountDownLatch databaseDown = new CountDownLatch(1);
+        captureBatches(databaseDown);
+        loginAudit.init();
+        Counter dropped = registry.get("auth.audit.events").tag("result", "dropped").counter();
+
+        // Con la BD parada la cola se llena: el siguiente evento espera block-timeout y se descarta
+        int accepted = 0;
+        long waited;
+        while (true) {
+            long start = System.nanoTime();
+            boolean published = loginAudit.publish(event("user-" + accepted));
+            waited = System.nanoTime() - start;
+            if (!published) {
+                break;
+            }
+            accepted++;
+        }
+        assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(50), "waited " + waited + " ns");
+        assertEquals(1, dropped.count());
+
+        // Si la BD vuelve durante la espera, el evento entra
+        ReflectionTestUtils.setField(loginAudit, "blockTimeoutMs", 5_000L);
+        Thread recovery = new Thread(() -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+            databaseDown.countDown();
+        });
+        recovery.start();
+        assertTrue(loginAudit.publish(event("after-recovery")));
+        recovery.join();
+        loginAudit.shutdown();
+
+        assertEquals(accepted + 1, batches.stream().mapToInt(List::size).sum());
+        assertEquals(1, dropped.count());
+    }
+
+    @Test
+    void ringBufferShouldKeepEveryEventOfConcurrentProducers() throws Exception {
+        AuditRingBuffer<long[]> buffer = new AuditRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 20_000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    // Buffer lleno: ceder el núcleo al consumidor (con pocos núcleos, girar lo retrasa)
+                    while (buffer.offer(new long[] { producer, i }) < 0) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Cada productor debe llegar completo y en su orden
+        long[] next = new long[producers];
+        List<long[]> drained = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        int total = 0;
+        while (total < producers * perProducer && System.nanoTime() < deadline) {
+            drained.clear();
+            total += buffer.drainTo(drained, 16);
+            for (long[] element : drained) {
+                assertEquals(next[(int) element[0]]++, element[1]);
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * perProducer, total);
+        assertEquals(0, buffer.size());
+        assertFalse(buffer.drainTo(drained, 1) > 0);
+    }
+
+    private void captureBatches(CountDownLatch gate) {
+        doAnswer(invocation -> {
+            if (gate != null) {
+                gate.await();
+            }
+            batches.add(List.copyOf(invocation.<List<AuditEvent>>getArgument(0)));
+            return null;
+        }).when(loginAuditRepository).insertBatch(anyList());
+    }
+
+    private static AuditEvent event(String username) {
+        return new AuditEvent(AuditEvent.Type.LOGIN, username, "10.0.0.1", AuditEvent.Outcome.SUCCESS, 200, 1L,
+                Instant.now());
+    }
+}
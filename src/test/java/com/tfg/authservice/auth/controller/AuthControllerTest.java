@@ -1,28 +1,45 @@
 package com.tfg.authservice.auth.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tfg.authservice.auth.audit.LoginAudit;
 import com.tfg.authservice.auth.dto.AuthResponse;
 import com.tfg.authservice.auth.dto.LoginRequest;
+import com.tfg.authservice.auth.dto.RefreshRequest;
 import com.tfg.authservice.auth.dto.RegisterRequest;
+import com.tfg.authservice.auth.security.JwtProvider;
+import com.tfg.authservice.auth.security.throttle.LoginThrottle;
+import com.tfg.authservice.auth.service.TokenRevocationService;
 import com.tfg.authservice.auth.service.AuthService;
+import com.tfg.authservice.auth.service.PasswordHashingExecutor;
 import com.tfg.authservice.config.SecurityConfig;
+import com.tfg.authservice.exception.CustomException;
+import com.tfg.authservice.exception.TooManyRequestsException;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AuthController.class)
-@Import(SecurityConfig.class)  // Necesario pues se carga la config de seguridad en el test
+@Import({ SecurityConfig.class, PasswordHashingExecutor.class })  // Config de seguridad y pool real de hashing
 class AuthControllerTest {
 
     @Autowired
@@ -34,6 +51,18 @@ class AuthControllerTest {
     @MockBean
     private PasswordEncoder passwordEncoder; // Spring Boot necesita un PasswordEncoder
 
+    @MockBean
+    private JwtProvider jwtProvider; // Lo necesita el filtro JWT de SecurityConfig
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService; // Lo necesita el filtro JWT de SecurityConfig
+
+    @MockBean
+    private LoginThrottle loginThrottle; // Limitador de intentos de login
+
+    @MockBean
+    private LoginAudit loginAudit; // Auditoría asíncrona (sin BD en este test)
+
 
     @Autowired
     private ObjectMapper objectMapper; // Para convertir objetos a JSON
@@ -52,14 +81,21 @@ class AuthControllerTest {
         request.setEmail("test@example.com");
         request.setPassword("1234");
 
-        mockMvc.perform(post("/auth/register")
+        // Endpoint asíncrono: primero se inicia el procesamiento y luego se despacha el resultado
+        MvcResult result = mockMvc.perform(post("/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("fake-token"))
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.email").value("test@example.com"));
+
+        Mockito.verify(loginAudit).register(eq("testuser"), any(), anyLong(), isNull());
     }
 
     @Test
@@ -71,14 +107,74 @@ class AuthControllerTest {
 
         LoginRequest request = new LoginRequest("testuser", "1234");
 
-        mockMvc.perform(post("/auth/login")
+        MvcResult result = mockMvc.perform(post("/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("fake-token"))
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.email").value("test@example.com"));
+
+        Mockito.verify(loginAudit).login(eq("testuser"), any(), anyLong(), isNull()); // éxito auditado
+    }
+
+    @Test
+    void refresh_ShouldReturnNewTokens() throws Exception {
+        AuthResponse authResponse = new AuthResponse("new-token", "testuser", "test@example.com", "new-refresh");
+
+        Mockito.when(authService.refresh(any(RefreshRequest.class)))
+               .thenReturn(authResponse);
+
+        mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest("old-refresh"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new-token"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh"));
+    }
+
+    // TEST PARA 401: las excepciones del servicio llegan al manejador global también en modo asíncrono
+    @Test
+    void login_ShouldReturnUnauthorizedOnBadCredentials() throws Exception {
+        Mockito.when(authService.login(any(LoginRequest.class)))
+               .thenThrow(new CustomException("Invalid username or password", HttpStatus.UNAUTHORIZED));
+
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("testuser", "bad"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid username or password"));
+
+        // El fallo llega envuelto por el futuro; LoginAudit extrae el estado de la causa
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        Mockito.verify(loginAudit).login(eq("testuser"), any(), anyLong(), error.capture());
+        assertInstanceOf(CustomException.class, error.getValue().getCause());
+    }
+
+    // TEST PARA 429: el limitador rechaza antes de llegar al servicio
+    @Test
+    void login_ShouldReturnTooManyRequestsWhenThrottled() throws Exception {
+        Mockito.doThrow(new TooManyRequestsException("Too many login attempts", 12))
+               .when(loginThrottle).check(Mockito.eq("testuser"), any());
+
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("testuser", "1234"))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"));
+
+        Mockito.verifyNoInteractions(authService);
+        Mockito.verify(loginAudit).login(eq("testuser"), any(), anyLong(), isA(TooManyRequestsException.class));
     }
 
     // TEST PARA 400 Bad Request
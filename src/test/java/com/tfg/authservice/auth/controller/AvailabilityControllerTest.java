@@ -0,0 +1,78 @@
+package com.tfg.authservice.auth.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tfg.authservice.auth.security.JwtProvider;
+import com.tfg.authservice.auth.security.throttle.LoginThrottle;
+import com.tfg.authservice.auth.service.AvailabilityService;
+import com.tfg.authservice.auth.service.TokenRevocationService;
+import com.tfg.authservice.config.SecurityConfig;
+import com.tfg.authservice.exception.TooManyRequestsException;
+
+/**
+ * Test class para AvailabilityController.
+ * El endpoint es público, pero cada consulta pasa por el límite por IP del login.
+ */
+@WebMvcTest(AvailabilityController.class)
+@Import(SecurityConfig.class)
+class AvailabilityControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AvailabilityService availabilityService;
+
+    @MockBean
+    private LoginThrottle loginThrottle;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private JwtProvider jwtProvider; // Lo necesita el filtro JWT de SecurityConfig
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService; // Lo necesita el filtro JWT de SecurityConfig
+
+
+    @Test
+    void availability_ShouldCheckIpThrottleAndAnswer() throws Exception {
+        Mockito.when(availabilityService.isUsernameAvailable("newuser")).thenReturn(true);
+
+        mockMvc.perform(get("/auth/availability").param("username", "newuser")
+                .with(request -> {
+                    request.setRemoteAddr("203.0.113.7");
+                    return request;
+                }))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(true));
+
+        Mockito.verify(loginThrottle).checkIp("203.0.113.7");
+    }
+
+    @Test
+    void availability_ShouldReturn429WhenIpIsThrottled() throws Exception {
+        Mockito.doThrow(new TooManyRequestsException("Too many login attempts", 30))
+                .when(loginThrottle).checkIp(Mockito.anyString());
+
+        mockMvc.perform(get("/auth/availability").param("email", "a@b.com"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+
+        Mockito.verifyNoInteractions(availabilityService);
+    }
+}
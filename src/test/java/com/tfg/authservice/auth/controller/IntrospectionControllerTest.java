@@ -0,0 +1,119 @@
+package com.tfg.authservice.auth.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.tfg.authservice.auth.dto.IntrospectionResponse;
+import com.tfg.authservice.auth.model.VO.Role.RoleName;
+import com.tfg.authservice.auth.security.JwtProvider;
+import com.tfg.authservice.auth.security.TokenClaims;
+import com.tfg.authservice.auth.security.permission.Permission;
+import com.tfg.authservice.auth.security.permission.Permissions;
+import com.tfg.authservice.auth.security.permission.RolePermissions;
+import com.tfg.authservice.auth.service.TokenIntrospectionService;
+import com.tfg.authservice.auth.service.TokenRevocationService;
+import com.tfg.authservice.config.SecurityConfig;
+
+/**
+ * Test class para IntrospectionController.
+ * El endpoint exige un token con TOKEN_INTROSPECT (RFC 7662 §2.1).
+ */
+@WebMvcTest(IntrospectionController.class)
+@Import(SecurityConfig.class)
+class IntrospectionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TokenIntrospectionService introspectionService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private JwtProvider jwtProvider; // Lo necesita el filtro JWT de SecurityConfig
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService; // Lo necesita el filtro JWT de SecurityConfig
+
+
+    @Test
+    void introspect_ShouldRejectAnonymousCallers() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("token", "any-token"))
+                .andExpect(status().is4xxClientError());
+
+        Mockito.verifyNoInteractions(introspectionService);
+    }
+
+    @Test
+    void introspect_ShouldRejectCallersWithoutPermission() throws Exception {
+        caller("developer-token", Permissions.mask(Permission.TASK_READ));
+
+        mockMvc.perform(post("/auth/introspect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer developer-token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("token", "any-token"))
+                .andExpect(status().isForbidden());
+
+        Mockito.verifyNoInteractions(introspectionService);
+    }
+
+    @Test
+    void introspect_ShouldAnswerCallersWithPermission() throws Exception {
+        caller("gateway-token", Permissions.mask(Permission.TOKEN_INTROSPECT));
+        Mockito.when(introspectionService.introspect("any-token")).thenReturn(IntrospectionResponse.INACTIVE);
+
+        mockMvc.perform(post("/auth/introspect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer gateway-token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("token", "any-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(false));
+    }
+
+    @Test
+    void introspect_ShouldAllowGatewayRoleButNotPlainUsers() throws Exception {
+        // El rol del gateway solo lleva TOKEN_INTROSPECT: no hace falta un token de admin
+        assertEquals(Permissions.mask(Permission.TOKEN_INTROSPECT), RolePermissions.of(RoleName.ROLE_GATEWAY));
+        caller("gateway-token", RolePermissions.of(List.of(RoleName.ROLE_GATEWAY.name())));
+        caller("user-token", RolePermissions.of(List.of(RoleName.ROLE_DEVELOPER.name())));
+        Mockito.when(introspectionService.introspect("any-token")).thenReturn(IntrospectionResponse.INACTIVE);
+
+        mockMvc.perform(post("/auth/introspect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer gateway-token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("token", "any-token"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/introspect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer user-token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("token", "any-token"))
+                .andExpect(status().isForbidden());
+    }
+
+    private void caller(String token, long permissions) {
+        Mockito.when(jwtProvider.parseAndVerify(token)).thenReturn(new TokenClaims("jti-" + token, "caller", 1L,
+                List.of(), permissions, Instant.now(), Instant.now().plusSeconds(60)));
+        Mockito.when(tokenRevocationService.isRevoked(anyString())).thenReturn(false);
+    }
+}
@@ -0,0 +1,91 @@
+package com.tfg.authservice.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.tfg.authservice.auth.security.key.SigningKey;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Test class para Hs256TokenCodec (JUnit).
+ * Comprueba que los tokens son idénticos byte a byte a los de jjwt y que todo lo dudoso se rechaza.
+ */
+public class Hs256TokenCodecTest {
+
+    private static final SigningKey KEY = SigningKey.hmac("codec-secret-codec-secret-codec-secret-1234");
+    private static final UUID JTI = UUID.fromString("0b6f5c1e-8d2a-4f3b-9c7e-1a2b3c4d5e6f");
+    private static final long IAT = 1_760_000_000L;
+    private static final long EXP = IAT + 3_600;
+    private static final long PERM = 0b1010_0001L;
+
+    private final Hs256TokenCodec codec = new Hs256TokenCodec(KEY);
+
+    @Test
+    void shouldProduceSameBytesAsJjwt() {
+        // Comillas, barra invertida, control, no-ASCII y par suplente: mismos escapes que Jackson
+        for (String subject : List.of("testuser", "quo\"te\\back", "tab\tnew\nline\u0001", "ñandú", "emoji😀")) {
+            for (List<String> roles : List.of(List.<String>of(), List.of("ROLE_DEVELOPER"), List.of("ROLE_ADMIN", "ROLE_USER"))) {
+                assertEquals(jjwt(subject, 42L, roles), codec.encode(JTI, subject, 42L, roles, PERM, IAT, EXP));
+            }
+        }
+    }
+
+    @Test
+    void shouldDecodeJjwtToken() {
+        TokenClaims claims = codec.decode(jjwt("ñandú", 7L, List.of("ROLE_ADMIN", "ROLE_USER")), Instant.ofEpochSecond(IAT));
+
+        assertNotNull(claims);
+        assertEquals(JTI.toString(), claims.jti());
+        assertEquals("ñandú", claims.subject());
+        assertEquals(7L, claims.userId());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), claims.roles());
+        assertEquals(PERM, claims.permissions());
+        assertEquals(Instant.ofEpochSecond(IAT), claims.issuedAt());
+        assertEquals(Instant.ofEpochSecond(EXP), claims.expiration());
+    }
+
+    @Test
+    void shouldLeaveUnrecognizedTokensToJjwt() {
+        String token = codec.encode(JTI, "testuser", 42L, List.of("ROLE_USER"), PERM, IAT, EXP);
+        Instant now = Instant.ofEpochSecond(IAT);
+
+        // Firma alterada
+        char last = token.charAt(token.length() - 1);
+        assertNull(codec.decode(token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A'), now));
+        // Misma firma con bits sobrantes distintos de cero (43 caracteres: los 2 últimos bits no se usan)
+        assertNull(codec.decode(token.substring(0, token.length() - 1) + (char) (last + 1), now));
+        // Expirado
+        assertNull(codec.decode(token, Instant.ofEpochSecond(EXP).plusMillis(1)));
+        // Otra clave (otra cabecera)
+        Hs256TokenCodec other = new Hs256TokenCodec(SigningKey.hmac("other-secret-other-secret-other-secret-12"));
+        assertNull(codec.decode(other.encode(JTI, "testuser", 42L, List.of(), PERM, IAT, EXP), now));
+        // Escapes JSON: válido, pero fuera del formato que lee el codificador
+        assertNull(codec.decode(codec.encode(JTI, "quo\"te", 42L, List.of(), PERM, IAT, EXP), now));
+        assertNotNull(codec.decode(token, now));
+    }
+
+    private static String jjwt(String subject, Long userId, Collection<String> roles) {
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, KEY.kid())
+                .setId(JTI.toString())
+                .setSubject(subject)
+                .claim(JwtProvider.USER_ID_CLAIM, userId)
+                .claim(JwtProvider.ROLES_CLAIM, roles)
+                .claim(JwtProvider.PERMISSIONS_CLAIM, PERM)
+                .setIssuedAt(new Date(IAT * 1000))
+                .setExpiration(new Date(EXP * 1000))
+                .signWith(KEY.signingKey(), KEY.algorithm())
+                .compact();
+    }
+}
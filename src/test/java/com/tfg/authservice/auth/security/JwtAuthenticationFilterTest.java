@@ -0,0 +1,77 @@
+package com.tfg.authservice.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.tfg.authservice.auth.security.permission.RolePermissions;
+import com.tfg.authservice.auth.service.TokenRevocationService;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * Test class para JwtAuthenticationFilter.
+ * Comprueba que la autenticación se construye solo con los claims del token.
+ */
+public class JwtAuthenticationFilterTest {
+
+    private final JwtProvider jwtProvider = JwtProviderTest.newProvider("test-secret-test-secret-test-secret-1234", 60_000L);
+    private final TokenRevocationService revocationService = Mockito.mock(TokenRevocationService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtProvider, revocationService);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAuthenticateFromBearerToken() throws Exception {
+        String token = jwtProvider.generateToken("testuser", 7L, List.of("ROLE_ADMIN", "ROLE_DEVELOPER"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        FilterChain chain = Mockito.mock(FilterChain.class);
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(new AuthenticatedUser(7L, "testuser", RolePermissions.of(List.of("ROLE_ADMIN", "ROLE_DEVELOPER"))),
+                authentication.getPrincipal());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_DEVELOPER"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(chain).doFilter(Mockito.eq(request), Mockito.any());
+    }
+
+    @Test
+    void shouldLeaveRequestAnonymousWhenTokenIsInvalid() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer not-a-token");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void shouldLeaveRequestAnonymousWhenTokenIsRevoked() throws Exception {
+        String token = jwtProvider.generateToken("testuser", 7L, List.of("ROLE_DEVELOPER"));
+        Mockito.when(revocationService.isRevoked(jwtProvider.parseAndVerify(token).jti())).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
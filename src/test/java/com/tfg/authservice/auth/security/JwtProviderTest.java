@@ -0,0 +1,187 @@
+package com.tfg.authservice.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tfg.authservice.auth.model.VO.Role.RoleName;
+import com.tfg.authservice.auth.security.permission.RolePermissions;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Test class para JwtProvider (JUnit).
+ * Verifica la generación, verificación y caché de tokens sin levantar el contexto de Spring.
+ */
+public class JwtProviderTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-1234";
+
+    private JwtProvider jwtProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtProvider = newProvider(SECRET, 60_000L);
+    }
+
+    static JwtProvider newProvider(String secret, long expiration) {
+        JwtProvider provider = new JwtProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(provider, "cacheMaxSize", 100L);
+        provider.init();
+        return provider;
+    }
+
+    @Test
+    void shouldParseAndVerifyGeneratedToken() {
+        String token = jwtProvider.generateToken("testuser", 42L, List.of("ROLE_DEVELOPER"));
+
+        TokenClaims claims = jwtProvider.parseAndVerify(token);
+
+        assertEquals("testuser", claims.subject());
+        assertEquals(42L, claims.userId());
+        assertEquals(List.of("ROLE_DEVELOPER"), claims.roles());
+        assertEquals(RolePermissions.of(RoleName.ROLE_DEVELOPER), claims.permissions());
+        assertNotNull(claims.issuedAt());
+        assertTrue(claims.expiration().isAfter(claims.issuedAt()));
+        assertTrue(jwtProvider.validateToken(token));
+        assertEquals("testuser", jwtProvider.getUserNameFromToken(token));
+    }
+
+    @Test
+    void shouldDerivePermissionsForTokensWithoutPermClaim() {
+        // Token emitido antes del claim "perm" (y del "kid"): los permisos salen de los roles
+        String legacy = Jwts.builder()
+                .setSubject("testuser")
+                .claim(JwtProvider.USER_ID_CLAIM, 42L)
+                .claim(JwtProvider.ROLES_CLAIM, List.of("ROLE_MANAGER"))
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000L))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertEquals(RolePermissions.of(RoleName.ROLE_MANAGER), jwtProvider.parseAndVerify(legacy).permissions());
+    }
+
+    @Test
+    void shouldServeRepeatedTokenFromCache() {
+        String token = jwtProvider.generateToken("testuser", 42L, List.of("ROLE_DEVELOPER"));
+
+        // La segunda llamada devuelve la misma instancia cacheada
+        assertSame(jwtProvider.parseAndVerify(token), jwtProvider.parseAndVerify(token));
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        String foreign = newProvider("another-secret-another-secret-another-1", 60_000L)
+                .generateToken("testuser", 42L, List.of("ROLE_DEVELOPER"));
+
+        assertFalse(jwtProvider.validateToken(foreign));
+        assertThrows(JwtException.class, () -> jwtProvider.parseAndVerify(foreign));
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        String expired = newProvider(SECRET, -1_000L).generateToken("testuser", 42L, List.of("ROLE_DEVELOPER"));
+
+        assertFalse(jwtProvider.validateToken(expired));
+    }
+
+    @Test
+    void shouldRejectEmptyToken() {
+        assertFalse(jwtProvider.validateToken(""));
+        assertFalse(jwtProvider.validateToken(null));
+    }
+
+    @Test
+    void shouldSignWithEs256AndPublishPublicKey() throws Exception {
+        JwtProvider esProvider = new JwtProvider();
+        ReflectionTestUtils.setField(esProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(esProvider, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(esProvider, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(esProvider, "signingAlgorithm", "ES256");
+        esProvider.init();
+
+        String token = esProvider.generateToken("testuser", 42L, List.of("ROLE_DEVELOPER"));
+        JsonNode header = new ObjectMapper().readTree(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        JsonNode keys = new ObjectMapper().readTree(esProvider.getJwkSet().json()).get("keys");
+
+        assertEquals("ES256", header.get("alg").asText());
+        assertEquals("testuser", esProvider.parseAndVerify(token).subject());
+        // Solo se publica la clave EC, nunca el secreto HS256
+        assertEquals(1, keys.size());
+        assertEquals(header.get("kid").asText(), keys.get(0).get("kid").asText());
+        // Los tokens HS256 emitidos con el secreto siguen siendo válidos durante la migración
+        assertTrue(esProvider.validateToken(jwtProvider.generateToken("testuser", 42L, List.of())));
+    }
+
+    @Test
+    void shouldNotPublishSharedSecret() throws Exception {
+        JsonNode keys = new ObjectMapper().readTree(jwtProvider.getJwkSet().json()).get("keys");
+
+        assertEquals(0, keys.size());
+    }
+
+    @Test
+    void shouldKeepValidatingTokensAfterKeyRotation(@TempDir Path dir) throws Exception {
+        Path keystore = dir.resolve("jwt-keys.p12");
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        store.load(null, null);
+        addHmacKey(store, keystore, "k1");
+
+        JwtProvider rotating = new JwtProvider();
+        ReflectionTestUtils.setField(rotating, "jwtSecret", "");
+        ReflectionTestUtils.setField(rotating, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(rotating, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(rotating, "keystoreLocation", keystore.toString());
+        ReflectionTestUtils.setField(rotating, "keystorePassword", "changeit");
+        ReflectionTestUtils.setField(rotating, "activationDelay", 0L);
+        rotating.init();
+        String before = rotating.generateToken("testuser", 42L, List.of());
+
+        Thread.sleep(5); // La clave nueva debe tener fecha de creación posterior
+        addHmacKey(store, keystore, "k2");
+        Files.setLastModifiedTime(keystore, FileTime.fromMillis(System.currentTimeMillis() + 1_000));
+        rotating.rotateKeys();
+        String after = rotating.generateToken("testuser", 42L, List.of());
+
+        assertEquals("k2", new ObjectMapper().readTree(
+                Base64.getUrlDecoder().decode(after.substring(0, after.indexOf('.')))).get("kid").asText());
+        assertTrue(rotating.validateToken(before));
+        assertTrue(rotating.validateToken(after));
+    }
+
+    private static void addHmacKey(KeyStore store, Path file, String alias) throws Exception {
+        SecretKey key = KeyGenerator.getInstance("HmacSHA256").generateKey();
+        char[] password = "changeit".toCharArray();
+        store.setEntry(alias, new KeyStore.SecretKeyEntry(key), new KeyStore.PasswordProtection(password));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            store.store(out, password);
+        }
+    }
+}
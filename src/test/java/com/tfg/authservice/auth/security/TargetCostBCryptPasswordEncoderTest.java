@@ -0,0 +1,32 @@
+package com.tfg.authservice.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Test del encoder BCrypt con coste objetivo: detección de hashes a rehashear y calibración.
+ */
+class TargetCostBCryptPasswordEncoderTest {
+
+    @Test
+    void shouldRequestRehashWhenStoredCostDiffers() {
+        TargetCostBCryptPasswordEncoder encoder = new TargetCostBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))); // coste menor
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))); // coste mayor
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    void shouldKeepCalibratedStrengthWithinBounds() {
+        int strength = TargetCostBCryptPasswordEncoder.calibrate(Duration.ofMillis(1), 4, 6);
+
+        assertTrue(strength >= 4 && strength <= 6);
+    }
+}
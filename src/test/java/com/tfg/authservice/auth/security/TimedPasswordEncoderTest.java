@@ -0,0 +1,41 @@
+package com.tfg.authservice.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Test del PasswordEncoder instrumentado: los tiempos llegan al registro de métricas.
+ */
+class TimedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void shouldRecordEncodeAndMatchTimes() {
+        TimedPasswordEncoder encoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4));
+
+        String hash = encoder.encode("secret");
+        assertTrue(encoder.matches("secret", hash));
+
+        assertEquals(1, registry.get("auth.password.encode").timer().count());
+        assertEquals(1, registry.get("auth.password.matches").timer().count());
+    }
+}
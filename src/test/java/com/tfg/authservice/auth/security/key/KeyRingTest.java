@@ -0,0 +1,67 @@
+package com.tfg.authservice.auth.security.key;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class para KeyRing: selección de la clave activa y conservación de claves retiradas.
+ */
+public class KeyRingTest {
+
+    private static final Duration DELAY = Duration.ofMinutes(5);
+    private static final Duration RETENTION = Duration.ofHours(1);
+
+    private final Instant now = Instant.parse("2025-05-01T12:00:00Z");
+    private final SigningKey oldKey = SigningKey.ec(PemKeys.generateEcKeyPair());
+    private final SigningKey newKey = SigningKey.ec(PemKeys.generateEcKeyPair());
+
+    @Test
+    void shouldWaitActivationDelayBeforeSigningWithNewKey() {
+        List<KeyRing.StoredKey> stored = List.of(
+                new KeyRing.StoredKey(oldKey, now.minus(Duration.ofDays(30))),
+                new KeyRing.StoredKey(newKey, now.minus(Duration.ofMinutes(1))));
+
+        KeyRing ring = KeyRing.empty().rotate(stored, List.of(), now, DELAY, RETENTION);
+
+        // La clave nueva ya se publica y verifica, pero todavía no firma
+        assertEquals(oldKey.kid(), ring.active().kid());
+        assertNotNull(ring.find(newKey.kid()));
+        assertEquals(2, ring.size());
+
+        KeyRing later = ring.rotate(stored, List.of(), now.plus(DELAY), DELAY, RETENTION);
+        assertEquals(newKey.kid(), later.active().kid());
+    }
+
+    @Test
+    void shouldKeepRemovedKeyUntilItsTokensExpire() {
+        KeyRing ring = KeyRing.empty().rotate(List.of(
+                new KeyRing.StoredKey(oldKey, now.minus(Duration.ofDays(30))),
+                new KeyRing.StoredKey(newKey, now.minus(Duration.ofDays(1)))), List.of(), now, DELAY, RETENTION);
+
+        // El operador borra la clave antigua del almacén
+        List<KeyRing.StoredKey> onlyNew = List.of(new KeyRing.StoredKey(newKey, now.minus(Duration.ofDays(1))));
+        KeyRing retired = ring.rotate(onlyNew, List.of(), now, DELAY, RETENTION);
+        assertNotNull(retired.find(oldKey.kid()));
+
+        KeyRing stillRetired = retired.rotate(onlyNew, List.of(), now.plus(Duration.ofMinutes(59)), DELAY, RETENTION);
+        assertNotNull(stillRetired.find(oldKey.kid()));
+
+        KeyRing expired = stillRetired.rotate(onlyNew, List.of(), now.plus(RETENTION), DELAY, RETENTION);
+        assertNull(expired.find(oldKey.kid()));
+    }
+
+    @Test
+    void shouldProduceSameJwksForSameKeys() {
+        KeyRing first = KeyRing.of(oldKey, List.of(newKey));
+        KeyRing second = KeyRing.of(oldKey, List.of(newKey));
+
+        assertEquals(first.jwkSet().etag(), second.jwkSet().etag());
+    }
+}
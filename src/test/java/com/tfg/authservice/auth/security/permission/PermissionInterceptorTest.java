@@ -0,0 +1,91 @@
+package com.tfg.authservice.auth.security.permission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import com.tfg.authservice.auth.model.VO.Role.RoleName;
+import com.tfg.authservice.auth.security.AuthenticatedUser;
+import com.tfg.authservice.exception.CustomException;
+
+/**
+ * Test class para PermissionInterceptor y las máscaras de RolePermissions.
+ */
+public class PermissionInterceptorTest {
+
+    private final PermissionInterceptor interceptor = new PermissionInterceptor();
+
+    @RequiresPermission(Permission.TASK_READ)
+    static class SampleController {
+
+        @RequiresPermission({ Permission.USER_IMPORT, Permission.USER_WRITE })
+        public void importUsers() {
+        }
+
+        public void listTasks() {
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldUnionRolePermissions() {
+        long developerAndManager = RolePermissions.of(List.of("ROLE_DEVELOPER", "ROLE_MANAGER", "ROLE_UNKNOWN"));
+
+        assertEquals(RolePermissions.of(RoleName.ROLE_DEVELOPER) | RolePermissions.of(RoleName.ROLE_MANAGER), developerAndManager);
+        assertTrue(new AuthenticatedUser(1L, "u", developerAndManager).hasAll(Permissions.mask(Permission.TASK_ASSIGN)));
+        assertFalse(new AuthenticatedUser(1L, "u", developerAndManager).hasAll(Permissions.mask(Permission.USER_IMPORT)));
+        assertEquals(Permissions.mask(Permission.values()), RolePermissions.of(RoleName.ROLE_ADMIN));
+    }
+
+    @Test
+    void shouldRequireAllPermissionsOfMethodAnnotation() throws Exception {
+        HandlerMethod importUsers = handler("importUsers");
+
+        authenticate(Permissions.mask(Permission.USER_IMPORT));
+        CustomException forbidden = assertThrows(CustomException.class, () -> preHandle(importUsers));
+        assertEquals(HttpStatus.FORBIDDEN, forbidden.getStatus());
+
+        authenticate(RolePermissions.of(RoleName.ROLE_ADMIN));
+        assertTrue(preHandle(importUsers));
+    }
+
+    @Test
+    void shouldFallBackToClassAnnotationAndRejectAnonymous() throws Exception {
+        HandlerMethod listTasks = handler("listTasks");
+
+        CustomException unauthorized = assertThrows(CustomException.class, () -> preHandle(listTasks));
+        assertEquals(HttpStatus.UNAUTHORIZED, unauthorized.getStatus());
+
+        authenticate(RolePermissions.of(RoleName.ROLE_DEVELOPER));
+        assertTrue(preHandle(listTasks));
+    }
+
+    private boolean preHandle(HandlerMethod handler) {
+        return interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), SampleController.class.getMethod(method));
+    }
+
+    private static void authenticate(long permissions) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                new AuthenticatedUser(1L, "testuser", permissions), null, List.of()));
+    }
+}
@@ -0,0 +1,115 @@
+package com.tfg.authservice.auth.security.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tfg.authservice.auth.repository.LoginThrottleRepository;
+import com.tfg.authservice.exception.TooManyRequestsException;
+
+/**
+ * Test del limitador de intentos de login (LoginThrottle) y de su token bucket.
+ */
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleTest {
+
+    @InjectMocks
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private LoginThrottleRepository throttleRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginThrottle, "enabled", true);
+        ReflectionTestUtils.setField(loginThrottle, "accountCapacity", 3);
+        ReflectionTestUtils.setField(loginThrottle, "accountRefillPerMinute", 1);
+        ReflectionTestUtils.setField(loginThrottle, "ipCapacity", 5);
+        ReflectionTestUtils.setField(loginThrottle, "ipRefillPerMinute", 1);
+        ReflectionTestUtils.setField(loginThrottle, "maxKeys", 1000L);
+        ReflectionTestUtils.setField(loginThrottle, "idleTimeout", 600_000L);
+        ReflectionTestUtils.setField(loginThrottle, "sharedWindow", 60_000L);
+        loginThrottle.init();
+    }
+
+    @Test
+    void shouldRejectAccountOverItsBurst() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.check("victim", "10.0.0." + i); // IPs distintas: solo limita la cuenta
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.check("victim", "10.0.0.9"));
+        assertEquals(60, ex.getRetryAfterSeconds()); // 1 intento por minuto
+        assertDoesNotThrow(() -> loginThrottle.check("other", "10.0.0.9"));
+        verifyNoInteractions(throttleRepository); // Modo local: sin BD
+    }
+
+    @Test
+    void shouldRejectIpSprayingManyAccounts() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.check("user" + i, "203.0.113.7");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.check("user9", "203.0.113.7"));
+        assertDoesNotThrow(() -> loginThrottle.check("user9", "203.0.113.8"));
+    }
+
+    @Test
+    void availabilityChecksShouldSpendTheLoginIpBucket() {
+        for (int i = 0; i < 4; i++) {
+            loginThrottle.checkIp("203.0.113.7");
+        }
+        loginThrottle.check("user0", "203.0.113.7");
+
+        // Enumerar con /auth/availability y probar contraseñas agotan el mismo cupo
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.checkIp("203.0.113.7"));
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.check("user1", "203.0.113.7"));
+        assertDoesNotThrow(() -> loginThrottle.checkIp("203.0.113.8"));
+    }
+
+    @Test
+    void shouldOnlyLimitAccountsWhenIpLimitIsDisabled() {
+        ReflectionTestUtils.setField(loginThrottle, "ipEnabled", false);
+
+        // Todos detrás de la misma IP (el gateway): solo cuenta el límite por cuenta
+        for (int i = 0; i < 10; i++) {
+            loginThrottle.check("user" + i, "10.0.0.1");
+        }
+        assertDoesNotThrow(() -> loginThrottle.check("user10", "10.0.0.1"));
+    }
+
+    @Test
+    void shouldEnforceSharedCounterAcrossInstances() {
+        ReflectionTestUtils.setField(loginThrottle, "shared", true);
+        when(throttleRepository.incrementAttempts(eq("ip:10.0.0.1"), any())).thenReturn(1);
+        when(throttleRepository.incrementAttempts(eq("user:victim"), any())).thenReturn(2); // otra instancia ya contó uno
+
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.check("victim", "10.0.0.1"));
+    }
+
+    @Test
+    void tokenBucketShouldRefillOverTime() {
+        long minute = TimeUnit.MINUTES.toNanos(1);
+        TokenBucket bucket = new TokenBucket(1, 1.0 / minute, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(minute, bucket.tryConsume(0));
+        assertEquals(minute / 2, bucket.tryConsume(minute / 2));
+        assertEquals(0, bucket.tryConsume(minute));
+    }
+}
@@ -8,8 +8,11 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,14 +20,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.tfg.authservice.auth.dto.AuthResponse;
 import com.tfg.authservice.auth.dto.RegisterRequest;
 import com.tfg.authservice.auth.model.VO.Role;
 import com.tfg.authservice.auth.model.VO.User;
+import com.tfg.authservice.auth.model.VO.UserCredentials;
 import com.tfg.authservice.auth.model.VO.Role.RoleName;
-import com.tfg.authservice.auth.repository.RoleRepository;
 import com.tfg.authservice.auth.repository.UserRepository;
 import com.tfg.authservice.auth.security.JwtProvider;
 
@@ -32,7 +36,7 @@ import com.tfg.authservice.auth.security.JwtProvider;
  * Test class para servicio de autenticación: AuthService (JUnit, Mockito).
  * Verificar si el registro de usuario funciona correctamente.
  * 
- * 1. Si el username y el email no existen, debe:
+ * 1. Si el username y el email no existen (el INSERT no viola ninguna restricción), debe:
  *   Encriptar la contraseña
  *   Guardar el usuario
  *   Generar un token válido
@@ -54,7 +58,7 @@ public class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -62,6 +66,15 @@ public class AuthServiceTest {
     @Mock
     private JwtProvider jwtProvider; 
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
     private RegisterRequest request;
 
     @BeforeEach
@@ -84,18 +97,15 @@ public class AuthServiceTest {
         // y que se genera un token válido.
         Role developerRole = new Role(1L, RoleName.ROLE_DEVELOPER);  // Role ficticio para registrarse
 
-        // Se simula que el usuario no existe en la base de datos
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
-
         // Se simula que el rol ROLE_DEVELOPER existe y se obtiene correctamente
-        when(roleRepository.findByRoleName(RoleName.ROLE_DEVELOPER)).thenReturn(Optional.of(developerRole));
+        when(roleRegistry.get(RoleName.ROLE_DEVELOPER)).thenReturn(developerRole);
 
         // Simula la encriptacion de la contraseña
         when(passwordEncoder.encode("1234")).thenReturn("encrypted");
 
         // Simula la generación del token JWT
-        when(jwtProvider.generateToken(Mockito.eq("testuser"))).thenReturn("fake-token");
+        when(jwtProvider.generateToken(Mockito.eq("testuser"), Mockito.any(), Mockito.eq(List.of("ROLE_DEVELOPER"))))
+                .thenReturn("fake-token");
 
         // Ejecuta la peticion en el metodo register y guarda el resultado
         AuthResponse response = authService.register(request);
@@ -108,7 +118,8 @@ public class AuthServiceTest {
 
         // Por utlimo verificamos que el usuario se guarda en la BD (any: engloba cualquier instancia de la clase)
         // Comprueba que el metodo del objeto simulado, ha sido llamado...
-        verify(userRepository).save(any(User.class)); // 
+        verify(userRepository).saveAndFlush(any(User.class)); // Un único INSERT, sin consultas previas
+        verify(userRepository, never()).existsByUsername(any());
     }
 
 
@@ -117,14 +128,14 @@ public class AuthServiceTest {
      */
     @Test
     void shouldThrowWhenUsernameAlreadyExists() {
-        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+        stubDuplicate(User.USERNAME_CONSTRAINT);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             authService.register(request);
         });
 
         assertEquals("Username is already taken", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+        verify(refreshTokenService, never()).issue(any(User.class));
     }
 
 
@@ -133,15 +144,43 @@ public class AuthServiceTest {
      */
     @Test
     void shouldThrowWhenEmailAlreadyExists() {
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+        stubDuplicate(User.EMAIL_CONSTRAINT);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             authService.register(request);
         });
 
         assertEquals("Email is already in use", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+        verify(refreshTokenService, never()).issue(any(User.class));
+    }
+
+
+    /**
+     * 4. Restricción con el nombre generado por Hibernate (BD anterior): se reconoce por el detalle de PostgreSQL
+     */
+    @Test
+    void shouldRecognizeDuplicateEmailByPostgresDetail() {
+        stubDuplicate("uk6dotkott2kjsp8vw4d0m25fb7", "ERROR: duplicate key value violates unique constraint "
+                + "\"uk6dotkott2kjsp8vw4d0m25fb7\"\n  Detail: Key (email)=(test@example.com) already exists.");
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            authService.register(request);
+        });
+
+        assertEquals("Email is already in use", exception.getMessage());
+    }
+
+
+    // Simula que el INSERT viola la restricción única indicada
+    private void stubDuplicate(String constraint) {
+        stubDuplicate(constraint, "duplicate key");
+    }
+
+    private void stubDuplicate(String constraint, String sqlMessage) {
+        when(roleRegistry.get(RoleName.ROLE_DEVELOPER)).thenReturn(new Role(1L, RoleName.ROLE_DEVELOPER));
+        when(passwordEncoder.encode("1234")).thenReturn("encrypted");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException(sqlMessage), constraint)));
     }
 
 
@@ -150,14 +189,12 @@ public class AuthServiceTest {
     */
     @Test
     void shouldLoginSuccessfully() {
-        User user = new User();
-        user.setUsername("testuser");
-        user.setPassword("encrypted");
-        user.setEmail("test@example.com");
+        UserCredentials credentials = new UserCredentials(1L, "testuser", "test@example.com", "encrypted",
+                List.of("ROLE_DEVELOPER"));
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(credentials));
         when(passwordEncoder.matches("1234", "encrypted")).thenReturn(true);
-        when(jwtProvider.generateToken("testuser")).thenReturn("fake-token");
+        when(jwtProvider.generateToken("testuser", 1L, List.of("ROLE_DEVELOPER"))).thenReturn("fake-token");
 
         AuthResponse response = authService.login(new com.tfg.authservice.auth.dto.LoginRequest("testuser", "1234"));
 
@@ -165,6 +202,7 @@ public class AuthServiceTest {
         assertEquals("testuser", response.getUsername());
         assertEquals("test@example.com", response.getEmail());
         assertEquals("fake-token", response.getToken());
+        verify(userRepository, never()).updatePassword(any(), any());
     }
 
     /**
@@ -172,7 +210,7 @@ public class AuthServiceTest {
      */
     @Test
     void shouldThrowWhenUsernameNotFound() {
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             authService.login(new com.tfg.authservice.auth.dto.LoginRequest("testuser", "1234"));
@@ -186,14 +224,12 @@ public class AuthServiceTest {
      */
     @Test
     void shouldThrowWhenPasswordDoesNotMatch() {
-        // Settea usario ficticio  registrado en BD
-        User user = new User();
-        user.setUsername("testuser");
-        user.setPassword("encrypted");
+        // Settea credenciales ficticias de un usuario registrado en BD
+        UserCredentials credentials = new UserCredentials(1L, "testuser", "test@example.com", "encrypted", List.of());
 
         // Se usa Mokito para simular que esta en la BD
-        // authService.login("testuser", "1234") llama a userRepository.findByUsername("testuser"), devolverá el usuario simulado.
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        // authService.login("testuser", "1234") llama a userRepository.findCredentialsByUsername("testuser"), devolverá las credenciales simuladas.
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(credentials));
         when(passwordEncoder.matches("1234", "encrypted")).thenReturn(false);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -203,6 +239,23 @@ public class AuthServiceTest {
         assertEquals("Invalid username or password", exception.getMessage());
     }
 
+    /**
+     * 3. Si el hash guardado usa otro coste → se rehashea con la contraseña recibida
+     */
+    @Test
+    void shouldRehashPasswordWhenCostDiffers() {
+        UserCredentials credentials = new UserCredentials(1L, "testuser", "test@example.com", "old-hash", List.of());
+
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(credentials));
+        when(passwordEncoder.matches("1234", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("1234")).thenReturn("new-hash");
+
+        authService.login(new com.tfg.authservice.auth.dto.LoginRequest("testuser", "1234"));
+
+        verify(userRepository).updatePassword(1L, "new-hash");
+    }
+
 
 
 
@@ -0,0 +1,131 @@
+package com.tfg.authservice.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tfg.authservice.auth.repository.UserBulkRepository;
+import com.tfg.authservice.auth.repository.UserBulkRepository.UserRowConsumer;
+import com.tfg.authservice.auth.repository.UserRepository;
+
+/**
+ * Test class para AvailabilityService.
+ * Los valores libres se resuelven en memoria; solo las posibles colisiones consultan la BD.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityServiceTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-01-01T10:00:00Z");
+
+    @InjectMocks
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserBulkRepository userBulkRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.count()).thenReturn(1L);
+        availabilityService.init();
+    }
+
+    @Test
+    void shouldAnswerFreeValuesFromMemoryAfterLoad() {
+        stubTable();
+        availabilityService.load();
+
+        assertTrue(availabilityService.isUsernameAvailable("newcomer"));
+        assertTrue(availabilityService.isEmailAvailable("newcomer@example.com"));
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void shouldConfirmPossibleCollisionsWithRepository() {
+        stubTable();
+        availabilityService.load();
+        when(userRepository.existsByUsername("Alice")).thenReturn(true);
+        when(userRepository.existsByEmail("bob@example.com")).thenReturn(false);
+
+        // El filtro normaliza (mayúsculas, espacios); la BD decide con el valor exacto
+        assertFalse(availabilityService.isUsernameAvailable(" Alice "));
+        availabilityService.registered("bob", "Bob@Example.com");
+        assertTrue(availabilityService.isEmailAvailable("bob@example.com"));
+        verify(userRepository).existsByEmail("bob@example.com");
+    }
+
+    @Test
+    void shouldUseRepositoryUntilIndexIsLoaded() {
+        when(userRepository.existsByUsername("newcomer")).thenReturn(false);
+
+        assertTrue(availabilityService.isUsernameAvailable("newcomer"));
+        verify(userRepository).existsByUsername("newcomer");
+    }
+
+    @Test
+    void syncShouldOnlyReadRowsNearTheWatermark() {
+        stubTable();
+        availabilityService.load();
+        doAnswer(invocation -> {
+            UserRowConsumer consumer = invocation.getArgument(1);
+            consumer.accept("carol", "carol@example.com", CREATED_AT.plusSeconds(5));
+            return null;
+        }).when(userBulkRepository).forEachUser(eq(CREATED_AT.minusSeconds(60)), any());
+
+        availabilityService.sync();
+        // carol (de otra instancia) ya está en el filtro: se confirma con la BD
+        when(userRepository.existsByUsername("carol")).thenReturn(true);
+        assertFalse(availabilityService.isUsernameAvailable("carol"));
+        // La marca de agua avanza con las filas leídas: la siguiente sincronización parte de ahí
+        availabilityService.sync();
+        verify(userBulkRepository).forEachUser(eq(CREATED_AT.plusSeconds(5).minusSeconds(60)), any());
+    }
+
+    @Test
+    void shouldNotCountRowsReadAgainByTheSyncOverlap() {
+        stubTable();
+        availabilityService.load();
+        doAnswer(invocation -> {
+            UserRowConsumer consumer = invocation.getArgument(1);
+            consumer.accept("alice", "alice@example.com", CREATED_AT);
+            consumer.accept("carol", "carol@example.com", CREATED_AT.plusSeconds(5));
+            return null;
+        }).when(userBulkRepository).forEachUser(eq(CREATED_AT.minusSeconds(60)), any());
+
+        availabilityService.sync();
+        availabilityService.registered("carol", "carol@example.com");
+
+        AtomicLong indexed = (AtomicLong) ReflectionTestUtils.getField(availabilityService, "indexed");
+        assertEquals(2, indexed.get());
+    }
+
+    private void stubTable() {
+        doAnswer(invocation -> {
+            UserRowConsumer consumer = invocation.getArgument(1);
+            consumer.accept("alice", "alice@example.com", CREATED_AT);
+            return null;
+        }).when(userBulkRepository).forEachUser(isNull(), any());
+    }
+}
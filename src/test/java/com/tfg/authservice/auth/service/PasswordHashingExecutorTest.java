@@ -0,0 +1,134 @@
+package com.tfg.authservice.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tfg.authservice.exception.ServiceOverloadedException;
+
+/**
+ * Test class para PasswordHashingExecutor.
+ * Con la cola llena debe rechazar al instante en lugar de esperar.
+ */
+public class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(executor, "threads", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "retryAfterSeconds", 2L);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        executor.submit(this::blockUntilReleased); // Ocupa el único hilo
+        while (executor.getQueueSize() > 0) {
+            Thread.onSpinWait();
+        }
+        executor.submit(this::blockUntilReleased); // Ocupa la única plaza de la cola
+
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> executor.submit(() -> "rejected"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+        assertEquals(2L, exception.getRetryAfterSeconds());
+    }
+
+    // Modo virtual: en Java 21+ usa hilos virtuales y en 17 vuelve al pool; la admisión sigue acotada
+    @Test
+    void shouldKeepAdmissionBoundInVirtualMode() {
+        PasswordHashingExecutor virtual = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(virtual, "threads", 1);
+        ReflectionTestUtils.setField(virtual, "queueCapacity", 1);
+        ReflectionTestUtils.setField(virtual, "retryAfterSeconds", 2L);
+        ReflectionTestUtils.setField(virtual, "virtualThreads", true);
+        virtual.init();
+        try {
+            assertEquals(Runtime.version().feature() >= 21, virtual.isVirtual());
+
+            virtual.submit(this::blockUntilReleased);
+            while (virtual.getQueueSize() > 0) {
+                Thread.onSpinWait();
+            }
+            virtual.submit(this::blockUntilReleased);
+
+            assertThrows(ServiceOverloadedException.class, () -> virtual.submit(() -> "rejected"));
+        } finally {
+            release.countDown();
+            virtual.shutdown();
+        }
+    }
+
+    // Solo en Java 21+ (mvn -Pjava21 test): hilos virtuales reales y admisión por Semaphore
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldAdmitThroughSemaphoreOnVirtualThreads() throws Exception {
+        PasswordHashingExecutor virtual = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(virtual, "threads", 1);
+        ReflectionTestUtils.setField(virtual, "queueCapacity", 1);
+        ReflectionTestUtils.setField(virtual, "retryAfterSeconds", 2L);
+        ReflectionTestUtils.setField(virtual, "virtualThreads", true);
+        virtual.init();
+        try {
+            assertTrue(virtual.isVirtual());
+            // Thread.isVirtual() no existe en la API de 17, con la que también se compila la clase
+            assertTrue(virtual.submit(() -> isVirtual(Thread.currentThread())).get(5, TimeUnit.SECONDS));
+
+            // threads + queue-capacity = 2 permisos: el segundo cuenta como "en cola" y el tercero se rechaza
+            CompletableFuture<String> first = virtual.submit(this::blockUntilReleased);
+            CompletableFuture<String> second = virtual.submit(this::blockUntilReleased);
+            assertEquals(1, virtual.getQueueSize());
+            ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                    () -> virtual.submit(() -> "rejected"));
+            assertEquals(2L, exception.getRetryAfterSeconds());
+
+            // Al terminar, las tareas devuelven su permiso y se vuelve a admitir
+            release.countDown();
+            CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+            assertEquals(0, virtual.getQueueSize());
+            assertEquals("admitted", virtual.submit(() -> "admitted").get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            virtual.shutdown();
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException ex) {
+            return false;
+        }
+    }
+
+    private String blockUntilReleased() {
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
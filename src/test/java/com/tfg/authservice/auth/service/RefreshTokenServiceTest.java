@@ -0,0 +1,101 @@
+package com.tfg.authservice.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tfg.authservice.auth.model.VO.RefreshToken;
+import com.tfg.authservice.auth.model.VO.User;
+import com.tfg.authservice.auth.repository.RefreshTokenRepository;
+import com.tfg.authservice.exception.CustomException;
+
+/**
+ * Test class para RefreshTokenService (JUnit, Mockito).
+ *
+ * 1. Un token válido se canjea por otro de la misma familia.
+ * 2. Un token ya usado revoca toda la familia.
+ * 3. Un token caducado se rechaza.
+ */
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenServiceTest {
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private final User user = User.builder().id(1L).username("testuser").email("test@example.com").build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", 60_000L);
+    }
+
+    @Test
+    void shouldRotateValidToken() {
+        RefreshToken stored = stored("raw-token", Instant.now().plusSeconds(60), null);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw-token"))).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(10L), any(Instant.class))).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw-token");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(user, rotation.user());
+        assertNotEquals("raw-token", rotation.refreshToken());
+        assertEquals("family", saved.getValue().getFamilyId());
+        // Solo se persiste el hash del nuevo token
+        assertEquals(RefreshTokenService.hash(rotation.refreshToken()), saved.getValue().getTokenHash());
+    }
+
+    @Test
+    void shouldRevokeFamilyWhenTokenIsReused() {
+        RefreshToken stored = stored("raw-token", Instant.now().plusSeconds(60), Instant.now());
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw-token"))).thenReturn(Optional.of(stored));
+
+        CustomException exception = assertThrows(CustomException.class, () -> refreshTokenService.rotate("raw-token"));
+
+        assertEquals("Refresh token reuse detected", exception.getMessage());
+        verify(refreshTokenRepository).revokeFamily("family");
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        RefreshToken stored = stored("raw-token", Instant.now().minusSeconds(1), null);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw-token"))).thenReturn(Optional.of(stored));
+
+        CustomException exception = assertThrows(CustomException.class, () -> refreshTokenService.rotate("raw-token"));
+
+        assertEquals("Refresh token expired", exception.getMessage());
+    }
+
+    private RefreshToken stored(String raw, Instant expiresAt, Instant usedAt) {
+        return RefreshToken.builder()
+                .id(10L)
+                .tokenHash(RefreshTokenService.hash(raw))
+                .user(user)
+                .familyId("family")
+                .expiresAt(expiresAt)
+                .usedAt(usedAt)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.tfg.authservice.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.tfg.authservice.auth.model.VO.Role;
+import com.tfg.authservice.auth.model.VO.Role.RoleName;
+import com.tfg.authservice.auth.repository.RoleRepository;
+import com.tfg.authservice.exception.CustomException;
+
+/**
+ * Test del registro de roles en memoria (RoleRegistry).
+ */
+@ExtendWith(MockitoExtension.class)
+class RoleRegistryTest {
+
+    @InjectMocks
+    private RoleRegistry roleRegistry;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Test
+    void shouldResolveRolesWithoutQueryingAgain() {
+        Role developer = new Role(1L, RoleName.ROLE_DEVELOPER);
+        when(roleRepository.findAll()).thenReturn(List.of(developer));
+        roleRegistry.init();
+
+        assertEquals(developer, roleRegistry.get(RoleName.ROLE_DEVELOPER));
+        assertEquals(developer, roleRegistry.get(RoleName.ROLE_DEVELOPER));
+        verify(roleRepository, times(1)).findAll(); // Solo la carga inicial
+        assertThrows(CustomException.class, () -> roleRegistry.get(RoleName.ROLE_ADMIN));
+    }
+
+    @Test
+    void shouldPickUpChangesOnReload() {
+        Role developer = new Role(1L, RoleName.ROLE_DEVELOPER);
+        Role admin = new Role(2L, RoleName.ROLE_ADMIN);
+        when(roleRepository.findAll()).thenReturn(List.of(developer), List.of(developer, admin));
+
+        roleRegistry.init();
+        roleRegistry.reload();
+
+        assertEquals(admin, roleRegistry.get(RoleName.ROLE_ADMIN));
+        assertEquals(2, roleRegistry.all().size());
+    }
+}
@@ -0,0 +1,151 @@
+package com.tfg.authservice.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tfg.authservice.auth.dto.IntrospectionResponse;
+import com.tfg.authservice.auth.security.JwtProvider;
+import com.tfg.authservice.auth.security.TokenClaims;
+import com.tfg.authservice.exception.CustomException;
+import com.tfg.authservice.exception.ServiceOverloadedException;
+
+import io.jsonwebtoken.ExpiredJwtException;
+
+/**
+ * Test de la introspección de tokens (TokenIntrospectionService).
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceTest {
+
+    @InjectMocks
+    private TokenIntrospectionService introspectionService;
+
+    @Mock
+    private JwtProvider jwtProvider;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private final Instant exp = Instant.ofEpochSecond(2_000_000_000L);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(introspectionService, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(introspectionService, "parallelThreshold", 4);
+        introspectionService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        introspectionService.shutdown();
+    }
+
+    @Test
+    void shouldReturnClaimsForActiveToken() {
+        when(jwtProvider.parseAndVerify("good")).thenReturn(claims("jti-1"));
+
+        IntrospectionResponse response = introspectionService.introspect("good");
+
+        assertTrue(response.isActive());
+        assertEquals("testuser", response.getSub());
+        assertEquals(exp.getEpochSecond(), response.getExp());
+        assertEquals(List.of("ROLE_DEVELOPER"), response.getRoles());
+    }
+
+    @Test
+    void shouldReportInvalidAndRevokedTokensAsInactive() {
+        when(jwtProvider.parseAndVerify("expired")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+        when(jwtProvider.parseAndVerify("revoked")).thenReturn(claims("jti-2"));
+        when(tokenRevocationService.isRevoked("jti-2")).thenReturn(true);
+
+        assertSame(IntrospectionResponse.INACTIVE, introspectionService.introspect("expired"));
+        assertFalse(introspectionService.introspect("revoked").isActive());
+    }
+
+    @Test
+    void shouldKeepOrderInParallelBatches() {
+        when(jwtProvider.parseAndVerify(anyString())).thenAnswer(invocation -> {
+            String token = invocation.getArgument(0);
+            if (token.startsWith("bad")) {
+                throw new IllegalArgumentException("bad token");
+            }
+            return claims(token);
+        });
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tokens.add(i % 2 == 0 ? "ok-" + i : "bad-" + i);
+        }
+        List<IntrospectionResponse> responses = introspectionService.introspectAll(tokens);
+
+        assertEquals(50, responses.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i % 2 == 0, responses.get(i).isActive());
+        }
+        assertEquals("ok-10", responses.get(10).getJti());
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            tokens.add("t" + i);
+        }
+
+        assertThrows(CustomException.class, () -> introspectionService.introspectAll(tokens));
+    }
+
+    @Test
+    void shouldRejectBatchWhenPoolIsFull() throws Exception {
+        introspectionService.shutdown();
+        ReflectionTestUtils.setField(introspectionService, "threads", 1);
+        ReflectionTestUtils.setField(introspectionService, "queueCapacity", 1);
+        introspectionService.init();
+
+        // Las tareas del pool quedan bloqueadas (como en una consulta lenta a la BD);
+        // lenient: si el rechazo llega antes de que el hilo tome su tarea, no se llega a verificar nada
+        CountDownLatch slowDatabase = new CountDownLatch(1);
+        lenient().when(jwtProvider.parseAndVerify(anyString())).thenAnswer(invocation -> {
+            slowDatabase.await();
+            return claims(invocation.getArgument(0));
+        });
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            tokens.add("t" + i);
+        }
+
+        try {
+            // 3 tareas para 1 hilo + 1 hueco en cola: la tercera se rechaza antes de bloquear a quien llama
+            ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                    () -> introspectionService.introspectAll(tokens));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        } finally {
+            slowDatabase.countDown();
+        }
+    }
+
+    private TokenClaims claims(String jti) {
+        return new TokenClaims(jti, "testuser", 1L, List.of("ROLE_DEVELOPER"), 0L, exp.minusSeconds(3600), exp);
+    }
+}
@@ -0,0 +1,83 @@
+package com.tfg.authservice.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tfg.authservice.auth.model.VO.RevokedToken;
+import com.tfg.authservice.auth.repository.RevokedTokenRepository;
+
+/**
+ * Test class para TokenRevocationService (JUnit, Mockito).
+ * El caso habitual (token no revocado) no debe consultar la base de datos.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationServiceTest {
+
+    @InjectMocks
+    private TokenRevocationService revocationService;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revocationService, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(revocationService, "expectedInsertions", 1_000L);
+        ReflectionTestUtils.setField(revocationService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(revocationService, "recentMaxSize", 100);
+        ReflectionTestUtils.setField(revocationService, "syncInterval", 5_000L);
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class)))
+                .thenReturn(List.of(new RevokedToken("loaded-jti", Instant.now().plusSeconds(60), Instant.now())));
+        revocationService.init();
+    }
+
+    @Test
+    void shouldAnswerNotRevokedWithoutDatabase() {
+        assertFalse(revocationService.isRevoked("unknown-jti"));
+        assertFalse(revocationService.isRevoked(null));
+
+        verify(revokedTokenRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void shouldRememberRevocations() {
+        revocationService.revoke("revoked-jti", Instant.now().plusSeconds(60));
+
+        assertTrue(revocationService.isRevoked("revoked-jti"));
+        assertTrue(revocationService.isRevoked("loaded-jti")); // Cargado al arrancar
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        verify(revokedTokenRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void shouldKeepRecentSetBoundedWhenConfirmingWithDatabase() {
+        ReflectionTestUtils.setField(revocationService, "recentMaxSize", 1); // Ya lleno con loaded-jti
+        revocationService.revoke("revoked-jti", Instant.now().plusSeconds(60));
+        when(revokedTokenRepository.findById("revoked-jti"))
+                .thenReturn(Optional.of(new RevokedToken("revoked-jti", Instant.now().plusSeconds(60), Instant.now())));
+
+        // Fuera del conjunto exacto: responde la BD, sin que el conjunto crezca
+        assertTrue(revocationService.isRevoked("revoked-jti"));
+        Map<?, ?> recent = (Map<?, ?>) ReflectionTestUtils.getField(revocationService, "recent");
+        assertEquals(1, recent.size());
+    }
+}
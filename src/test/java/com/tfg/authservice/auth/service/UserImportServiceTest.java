@@ -0,0 +1,163 @@
+package com.tfg.authservice.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tfg.authservice.auth.dto.ImportResult;
+import com.tfg.authservice.auth.dto.ImportResult.Status;
+import com.tfg.authservice.auth.model.VO.Role;
+import com.tfg.authservice.auth.model.VO.Role.RoleName;
+import com.tfg.authservice.auth.repository.UserBulkRepository;
+import com.tfg.authservice.auth.repository.UserBulkRepository.NewUser;
+
+/**
+ * Test de la importación masiva de usuarios (UserImportService).
+ */
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final String BCRYPT_HASH = "$2a$10$abcdefghijklmnopqrstuuXzVQ4HkEVe8W3C0CgsXbG1fD3Ct6Lf.";
+
+    @InjectMocks
+    private UserImportService userImportService;
+
+    @Mock
+    private UserBulkRepository userBulkRepository;
+
+    @Mock
+    private RoleRegistry roleRegistry;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    // Simula la BD: el primer usuario "taken" ya existe
+    private final List<NewUser> insertedUsers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userImportService, "batchSize", 2);
+        userImportService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+    }
+
+    private void stubDatabase() {
+        when(userBulkRepository.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<NewUser> users = invocation.getArgument(0);
+            Map<String, Long> ids = new HashMap<>();
+            for (NewUser user : users) {
+                if (!user.username().equals("taken")) {
+                    insertedUsers.add(user);
+                    ids.put(user.username(), (long) insertedUsers.size());
+                }
+            }
+            return ids;
+        });
+    }
+
+    @Test
+    void shouldImportNdjsonInBatchesWithPerLineResults() throws Exception {
+        stubDatabase();
+        when(roleRegistry.get(RoleName.ROLE_DEVELOPER)).thenReturn(new Role(3L, RoleName.ROLE_DEVELOPER));
+        when(roleRegistry.get(RoleName.ROLE_ADMIN)).thenReturn(new Role(1L, RoleName.ROLE_ADMIN));
+        when(passwordEncoder.encode("secret")).thenReturn("{bcrypt}hashed");
+
+        String body = """
+                {"username":"alice","email":"alice@example.com","password":"secret"}
+                {"username":"bob","email":"bob@example.com","password":"%s","role":"admin"}
+
+                {"username":"taken","email":"taken@example.com","password":"secret"}
+                not json
+                {"username":"carol","email":"carol@example.com"}
+                """.formatted(BCRYPT_HASH);
+
+        List<ImportResult> results = new ArrayList<>();
+        long created = userImportService.importUsers(stream(body), false, results::addAll);
+
+        assertEquals(2, created);
+        assertEquals(List.of(Status.CREATED, Status.CREATED, Status.DUPLICATE, Status.INVALID, Status.INVALID),
+                results.stream().map(ImportResult::getStatus).toList());
+        assertEquals(List.of(1, 2, 4, 5, 6), results.stream().map(ImportResult::getLine).toList());
+        verify(userBulkRepository, times(3)).insertBatch(anyList()); // lotes de 2 líneas
+
+        // El hash BCrypt recibido se guarda tal cual (con prefijo), sin volver a hashear
+        assertEquals("{bcrypt}" + BCRYPT_HASH, insertedUsers.get(1).passwordHash());
+        assertEquals(1L, insertedUsers.get(1).roleId());
+        verify(passwordEncoder, times(2)).encode("secret");
+    }
+
+    @Test
+    void shouldImportCsvWithHeader() throws Exception {
+        stubDatabase();
+        when(roleRegistry.get(RoleName.ROLE_DEVELOPER)).thenReturn(new Role(3L, RoleName.ROLE_DEVELOPER));
+        when(passwordEncoder.encode("p,w")).thenReturn("{bcrypt}hashed");
+
+        String body = "email,username,password\n\"dave@example.com\",dave,\"p,w\"\n";
+
+        List<ImportResult> results = new ArrayList<>();
+        userImportService.importUsers(stream(body), true, results::addAll);
+
+        assertEquals(Status.CREATED, results.get(0).getStatus());
+        assertEquals("dave", insertedUsers.get(0).username());
+        assertEquals("dave@example.com", insertedUsers.get(0).email());
+    }
+
+    @Test
+    void shouldValidateRowsLikeRegistration() throws Exception {
+        stubDatabase();
+        when(roleRegistry.get(RoleName.ROLE_DEVELOPER)).thenReturn(new Role(3L, RoleName.ROLE_DEVELOPER));
+        when(passwordEncoder.encode("secret")).thenReturn("{bcrypt}hashed");
+
+        String body = """
+                {"username":"erin","email":"not-an-email","password":"secret"}
+                {"username":" ","email":"","password":"secret"}
+                {"username":"frank","email":"frank@example.com","password":"secret"}
+                """;
+
+        List<ImportResult> results = new ArrayList<>();
+        userImportService.importUsers(stream(body), false, results::addAll);
+
+        // Mismos mensajes que @Valid RegisterRequest, todos los de la línea
+        assertEquals("Email must be valid", results.get(0).getMessage());
+        assertEquals("Username is mandatory; Email is mandatory", results.get(1).getMessage());
+        assertEquals(List.of(Status.INVALID, Status.INVALID, Status.CREATED),
+                results.stream().map(ImportResult::getStatus).toList());
+        assertEquals(List.of("frank"), insertedUsers.stream().map(NewUser::username).toList());
+    }
+
+    @Test
+    void shouldSplitQuotedCsvFields() {
+        assertArrayEquals(new String[] { "a", "b,c", "d\"e", "" }, UserImportService.splitCsv("a,\"b,c\",\"d\"\"e\","));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
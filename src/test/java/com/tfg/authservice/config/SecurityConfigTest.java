@@ -0,0 +1,72 @@
+package com.tfg.authservice.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import com.tfg.authservice.auth.controller.JwksController;
+import com.tfg.authservice.auth.security.JwtProvider;
+import com.tfg.authservice.auth.service.TokenRevocationService;
+
+/**
+ * Test class para las reglas de actuator de SecurityConfig.
+ * El slice MVC no registra los endpoints de actuator: basta con ver que la seguridad no responde 401/403.
+ */
+@WebMvcTest(controllers = JwksController.class, properties = { "local.server.port=8080", "local.management.port=8081" })
+@Import(SecurityConfig.class)
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private JwtProvider jwtProvider;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void prometheus_ShouldRequireLoginOnPublicPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(port(8080)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_ShouldBeOpenOnManagementPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(port(8081)))
+                .andExpect(passedSecurity());
+    }
+
+    @Test
+    void probes_ShouldBePublic() throws Exception {
+        mockMvc.perform(get("/actuator/health").with(port(8081)))
+                .andExpect(passedSecurity());
+        mockMvc.perform(get("/readyz").with(port(8080)))
+                .andExpect(passedSecurity());
+    }
+
+    private static ResultMatcher passedSecurity() {
+        return result -> assertFalse(result.getResponse().getStatus() == 401 || result.getResponse().getStatus() == 403,
+                "status " + result.getResponse().getStatus());
+    }
+
+    private static RequestPostProcessor port(int port) {
+        return request -> {
+            request.setLocalPort(port);
+            return request;
+        };
+    }
+}
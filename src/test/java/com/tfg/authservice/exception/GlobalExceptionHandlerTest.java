@@ -0,0 +1,79 @@
+package com.tfg.authservice.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Test class para GlobalExceptionHandler (JUnit).
+ * Comprueba que los cuerpos pre-serializados son idénticos a los que genera Jackson con ErrorResponse.
+ */
+public class GlobalExceptionHandlerTest {
+
+    // Misma configuración de fechas que Spring Boot (ISO-8601, no numéricas)
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void templateShouldMatchJacksonErrorResponse() throws Exception {
+        LocalDateTime timestamp = LocalDateTime.of(2025, 4, 28, 18, 25, 43, 510_000_000);
+        String message = "quo\"te\\back\ttab ñandú emoji😀";
+        String path = "/auth/ré\"gister";
+
+        ErrorResponse expected = new ErrorResponse(409, "Conflict", message, path);
+        expected.setTimestamp(timestamp);
+
+        // writeValueAsBytes usa el mismo generador UTF-8 que el conversor de mensajes de Spring
+        assertEquals(new String(MAPPER.writeValueAsBytes(expected), StandardCharsets.ISO_8859_1),
+                new String(new ErrorBodyTemplate(HttpStatus.CONFLICT, message).render(timestamp, path), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void shouldRenderBusinessExceptionWithoutStackTrace() throws Exception {
+        BusinessException ex = new BusinessException("Invalid username or password", HttpStatus.UNAUTHORIZED);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+
+        ResponseEntity<byte[]> response = handler.handleBusinessException(ex, request);
+
+        assertEquals(0, ex.getStackTrace().length);
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        JsonNode body = MAPPER.readTree(new String(response.getBody(), StandardCharsets.UTF_8));
+        assertEquals(401, body.get("status").asInt());
+        assertEquals("Unauthorized", body.get("error").asText());
+        assertEquals("Invalid username or password", body.get("message").asText());
+        assertEquals("/auth/login", body.get("path").asText());
+        assertNotNull(LocalDateTime.parse(body.get("timestamp").asText()));
+    }
+
+    @Test
+    void shouldKeepRetryAfterOnThrottledRequests() throws Exception {
+        TooManyRequestsException ex = new TooManyRequestsException("Too many login attempts", 7);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+
+        ResponseEntity<byte[]> response = handler.handleTooManyRequests(ex, request);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Too many login attempts",
+                MAPPER.readTree(response.getBody()).get("message").asText());
+    }
+}